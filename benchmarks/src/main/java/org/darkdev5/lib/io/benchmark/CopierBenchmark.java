@@ -0,0 +1,75 @@
+package org.darkdev5.lib.io.benchmark;
+
+import org.darkdev5.lib.io.copy.Copier;
+import org.darkdev5.lib.io.delete.BulkDeleter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Copier on a tree of many small files and on a few huge files.
+ * Every invocation copies into an empty destination that is deleted afterwards.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CopierBenchmark {
+    @Param({"ManySmall", "FewHuge"})
+    public TreeShape shape;
+
+    @Param({"1", "8"})
+    public int parallelism;
+
+    @Param({"false", "true"})
+    public boolean zeroCopy;
+
+    private String source;
+    private Path destination;
+
+    @Setup
+    public void setup() throws IOException {
+        source = shape.root().toString();
+    }
+
+    @Setup(Level.Invocation)
+    public void createDestination() throws IOException {
+        destination = Files.createTempDirectory("io-benchmark-copy");
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteDestination() throws IOException {
+        new BulkDeleter().delete(destination, true);
+    }
+
+    @Benchmark
+    public boolean copy() {
+        Copier copier = new Copier(List.of(source), destination.toString());
+        copier.setParallelism(parallelism);
+        copier.setZeroCopy(zeroCopy);
+
+        return copier.copy();
+    }
+}
@@ -0,0 +1,80 @@
+package org.darkdev5.lib.io.benchmark;
+
+import org.darkdev5.lib.io.File;
+import org.darkdev5.lib.io.FileAttributeBatch;
+import org.darkdev5.lib.io.FileAttributeTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures File construction, attribute access and the batch attribute fetch.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileBenchmark {
+    private static final int FILES = 500;
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    private List<Path> paths;
+    private File file;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        paths = new ArrayList<>(FILES);
+        for (int i = 0; i < FILES; i++) {
+            paths.add(TreeShape.ManySmall.file(i));
+        }
+
+        file = new File(paths.get(0).toString(), lazy);
+    }
+
+    @Benchmark
+    public File construct() throws IOException {
+        next = (next + 1) % FILES;
+        return new File(paths.get(next).toString(), lazy);
+    }
+
+    @Benchmark
+    public Object getAttribute() {
+        return file.getAttribute("modifyDate");
+    }
+
+    @Benchmark
+    public Object constructAndGetAttribute() throws IOException {
+        next = (next + 1) % FILES;
+        return new File(paths.get(next).toString(), lazy).getAttribute("size");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public FileAttributeTable batchFetch() throws IOException {
+        return new FileAttributeBatch().fetch(paths);
+    }
+}
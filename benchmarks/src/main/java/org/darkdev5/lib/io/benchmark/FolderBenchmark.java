@@ -0,0 +1,89 @@
+package org.darkdev5.lib.io.benchmark;
+
+import org.darkdev5.lib.io.Folder;
+import org.darkdev5.lib.io.FolderVisitor;
+import org.darkdev5.lib.io.option.FolderListType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures listing, walking and measuring the size of folders.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FolderBenchmark {
+    @Param({"Wide", "Flat", "Deep", "ManySmall"})
+    public TreeShape shape;
+
+    private Folder folder;
+
+    @Setup
+    public void setup() throws IOException {
+        folder = new Folder(shape.root().toString());
+    }
+
+    @Benchmark
+    public List<Path> list() {
+        return folder.list(FolderListType.Any, false);
+    }
+
+    @Benchmark
+    public List<Path> listFiles() {
+        return folder.list(FolderListType.File, false);
+    }
+
+    @Benchmark
+    public FolderVisitor walk() throws IOException {
+        return folder.walk(false);
+    }
+
+    @Benchmark
+    public FolderVisitor walkParallel() throws IOException {
+        return folder.walk(false, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public long walkStreaming() throws IOException {
+        long[] count = new long[1];
+        folder.walk(false, (path, attrs) -> ++count[0] > 0);
+
+        return count[0];
+    }
+
+    @Benchmark
+    public long getSize() {
+        return folder.getSize(false);
+    }
+
+    @Benchmark
+    public long getSizeCached() {
+        return folder.getSize(true);
+    }
+
+    @Benchmark
+    public boolean isEmpty() {
+        return folder.isEmpty();
+    }
+}
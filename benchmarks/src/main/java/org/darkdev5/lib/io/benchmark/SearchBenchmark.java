@@ -0,0 +1,113 @@
+package org.darkdev5.lib.io.benchmark;
+
+import org.darkdev5.lib.io.option.SearchMatchType;
+import org.darkdev5.lib.io.search.FolderIndex;
+import org.darkdev5.lib.io.search.FolderSearchEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures FolderSearchEngine on disk walks, in parallel and on a single thread, on a prebuilt index
+ * and in content search mode.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({"Wide", "Deep", "ManySmall"})
+    public TreeShape shape;
+
+    @Param({"Contains", "Glob", "Regex"})
+    public SearchMatchType matchType;
+
+    private String root;
+    private String key;
+    private Path indexFile;
+
+    @Setup
+    public void setup() throws IOException {
+        root = shape.root().toString();
+        key = switch (matchType) {
+            case Exact -> "file-7.bin";
+            case Contains -> "-7";
+            case Glob -> "file-7*.bin";
+            case Regex -> "file-7[0-9]*\\.bin";
+        };
+
+        indexFile = Files.createTempFile("io-benchmark", ".index");
+        Files.delete(indexFile);
+        FolderIndex.update(Path.of(root), indexFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(indexFile);
+    }
+
+    @Benchmark
+    public long search() throws IOException {
+        return count(new FolderSearchEngine.FolderSearchEngineBuilder(root, key)
+                .setMatchType(matchType)
+                .build());
+    }
+
+    @Benchmark
+    public long searchSingleThread() throws IOException {
+        return count(new FolderSearchEngine.FolderSearchEngineBuilder(root, key)
+                .setMatchType(matchType)
+                .setParallelism(1)
+                .build());
+    }
+
+    @Benchmark
+    public long searchIndex() throws IOException {
+        return count(new FolderSearchEngine.FolderSearchEngineBuilder(root, key)
+                .setMatchType(matchType)
+                .setIndexFile(indexFile.toString())
+                .build());
+    }
+
+    @Benchmark
+    public boolean searchFirst() throws IOException {
+        return new FolderSearchEngine.FolderSearchEngineBuilder(root, key)
+                .setMatchType(matchType)
+                .setLimit(1)
+                .build()
+                .search(false);
+    }
+
+    @Benchmark
+    public long searchContent() throws IOException {
+        return new FolderSearchEngine.FolderSearchEngineBuilder(root, "")
+                .setContentPatterns("needle", "haystack")
+                .setSkipBinary(false)
+                .build()
+                .searchContent(false, hit -> true);
+    }
+
+    private static long count(FolderSearchEngine engine) throws IOException {
+        return engine.search(false, (path, attrs) -> true);
+    }
+}
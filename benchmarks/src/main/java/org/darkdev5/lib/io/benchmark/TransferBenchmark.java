@@ -0,0 +1,72 @@
+package org.darkdev5.lib.io.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import org.darkdev5.lib.io.copy.FileTransfer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the zero-copy FileTransfer with commons-io and Files.copy on one huge file.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TransferBenchmark {
+    private Path source;
+    private Path target;
+
+    @Setup
+    public void setup() throws IOException {
+        source = TreeShape.FewHuge.file(0);
+    }
+
+    @Setup(Level.Invocation)
+    public void createTarget() throws IOException {
+        target = Files.createTempFile("io-benchmark", ".bin");
+        Files.delete(target);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteTarget() throws IOException {
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public long fileTransfer() throws IOException {
+        return FileTransfer.copy(source, target);
+    }
+
+    @Benchmark
+    public long commonsIo() throws IOException {
+        FileUtils.copyFile(source.toFile(), target.toFile());
+        return Files.size(target);
+    }
+
+    @Benchmark
+    public long filesCopy() throws IOException {
+        Files.copy(source, target);
+        return Files.size(target);
+    }
+}
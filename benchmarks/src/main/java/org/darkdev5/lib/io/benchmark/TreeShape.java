@@ -0,0 +1,112 @@
+package org.darkdev5.lib.io.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Shapes of the synthetic folder trees that benchmarks run on.
+ * A tree is generated once under the temp folder and reused by later runs until it is deleted.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public enum TreeShape {
+    /**
+     * One folder with 20000 small files.
+     */
+    Wide(1, 1, 20_000, 256),
+
+    /**
+     * One folder with 200000 empty files.
+     */
+    Flat(1, 1, 200_000, 0),
+
+    /**
+     * A chain of 256 nested folders with 8 small files in each of them.
+     */
+    Deep(256, 1, 8, 256),
+
+    /**
+     * 100 folders with 500 files of 4 KB.
+     */
+    ManySmall(1, 100, 500, 4 * 1024),
+
+    /**
+     * 4 files of 128 MB.
+     */
+    FewHuge(1, 1, 4, 128L * 1024 * 1024);
+
+    private static final String READY_MARKER = ".ready";
+
+    private final int depth;
+    private final int foldersPerLevel;
+    private final int filesPerFolder;
+    private final long fileSize;
+
+    TreeShape(int depth, int foldersPerLevel, int filesPerFolder, long fileSize) {
+        this.depth = depth;
+        this.foldersPerLevel = foldersPerLevel;
+        this.filesPerFolder = filesPerFolder;
+        this.fileSize = fileSize;
+    }
+
+    /**
+     * Get the root of the tree and generate it if it does not exist yet.
+     *
+     * @return Returns the root folder of the tree.
+     * @throws IOException Throws IOException if unable to generate the tree.
+     */
+    public Path root() throws IOException {
+        Path root = Path.of(System.getProperty("java.io.tmpdir"), "io-benchmark", name());
+        if (Files.exists(root.resolve(READY_MARKER))) {
+            return root;
+        }
+
+        Files.createDirectories(root);
+        Random random = new Random(name().hashCode());
+        byte[] chunk = new byte[(int) Math.min(fileSize, 1024 * 1024)];
+
+        for (int folder = 0; folder < foldersPerLevel; folder++) {
+            Path dir = foldersPerLevel == 1 ? root : root.resolve("folder-" + folder);
+
+            for (int level = 0; level < depth; level++) {
+                if (level > 0) {
+                    dir = dir.resolve("level-" + level);
+                }
+                Files.createDirectories(dir);
+
+                for (int file = 0; file < filesPerFolder; file++) {
+                    write(dir.resolve("file-" + file + ".bin"), random, chunk);
+                }
+            }
+        }
+
+        Files.createFile(root.resolve(READY_MARKER));
+        return root;
+    }
+
+    /**
+     * Get the path of one generated file.
+     *
+     * @param index Index of the file in the first folder.
+     * @return Returns the file path.
+     * @throws IOException Throws IOException if unable to generate the tree.
+     */
+    public Path file(int index) throws IOException {
+        Path dir = foldersPerLevel == 1 ? root() : root().resolve("folder-0");
+        return dir.resolve("file-" + (index % filesPerFolder) + ".bin");
+    }
+
+    private void write(Path path, Random random, byte[] chunk) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            for (long written = 0; written < fileSize; written += chunk.length) {
+                random.nextBytes(chunk);
+                out.write(chunk, 0, (int) Math.min(chunk.length, fileSize - written));
+            }
+        }
+    }
+}
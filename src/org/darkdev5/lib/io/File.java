@@ -1,20 +1,12 @@
 package org.darkdev5.lib.io;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.tika.Tika;
+import org.darkdev5.lib.io.detect.ContentTypeDetector;
+import org.darkdev5.lib.io.option.LockState;
 
 import java.io.*;
-import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.FileTime;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
 
 /**
  * @author darkDev5
@@ -22,10 +14,25 @@ import java.util.UUID;
  * @since 17
  */
 public class File {
-    private Map<String, Object> attributes;
+    private PathAttributes attributes;
     private String filePath;
+    private Path path;
+
+    private final boolean lazy;
 
     public File(String filePath) throws IOException {
+        this(filePath, false);
+    }
+
+    /**
+     * Create a file object that can fetch its attributes only when they are requested.
+     *
+     * @param filePath The file path you want to work with.
+     * @param lazy     True if owner and type must be fetched on first access and false to fetch all of them now.
+     * @throws IOException Throws IOException is from initValues() method.
+     */
+    public File(String filePath, boolean lazy) throws IOException {
+        this.lazy = lazy;
         setFilePath(filePath);
     }
 
@@ -37,62 +44,45 @@ public class File {
      */
     public void setFilePath(String filePath) throws IOException {
         this.filePath = filePath.trim();
+        this.path = Path.of(this.filePath);
         initValues();
     }
 
     /**
-     * Initialize attributes and fetch data from operating system and put it in the attributes.
+     * Initialize attributes and fetch data from operating system and keep it in a compact attribute record.
+     * In lazy mode only the basic attributes are read and owner and type are fetched by getAttribute().
      *
      * @throws IOException Throws IOException if data fetch failed.
      */
     private void initValues() throws IOException {
-        if (!Files.exists(Path.of(filePath)) || Files.isDirectory(Path.of(filePath))) {
-            throw new IOException("There is no file in this path.");
+        try {
+            attributes = PathAttributes.read(path, !lazy);
+        } catch (IOException e) {
+            throw new IOException("There is no file in this path.", e);
         }
 
-        attributes = new HashMap<>() {{
-            put("name", Path.of(filePath).getFileName().toString());
-            put("baseName", FilenameUtils.getBaseName(filePath));
-            put("extension", FilenameUtils.getExtension(filePath));
-            put("owner", Files.getOwner(Path.of(filePath)).getName());
-            put("size", Files.size(Path.of(filePath)));
-            put("type", new Tika().detect(new java.io.File(filePath)));
-        }};
-
-        attributes.put("parentPath", new java.io.File(filePath).getParentFile().getAbsolutePath());
-
-        if (Path.of(filePath).getParent().getFileName() == null) {
-            attributes.put("parentName", Path.of(filePath).getRoot().toString());
-        } else {
-            attributes.put("parentName", Path.of(filePath).getParent().getFileName().toString());
+        if (attributes.isDirectory()) {
+            throw new IOException("There is no file in this path.");
         }
 
-        BasicFileAttributes attrs = Files.readAttributes(Path.of(filePath),
-                BasicFileAttributes.class);
-
-        FileTime time = attrs.lastModifiedTime();
-        attributes.put("modifyDate", new SimpleDateFormat("yyyy-MM-dd")
-                .format(new Date(time.toMillis())));
-
-        time = attrs.creationTime();
-        attributes.put("createDate", new SimpleDateFormat("yyyy-MM-dd")
-                .format(new Date(time.toMillis())));
-
-        time = attrs.lastAccessTime();
-        attributes.put("accessDate", new SimpleDateFormat("yyyy-MM-dd")
-                .format(new Date(time.toMillis())));
-
-        time = attrs.lastModifiedTime();
-        attributes.put("modifyTime", new SimpleDateFormat("HH:mm:ss")
-                .format(new Date(time.toMillis())));
-
-        time = attrs.creationTime();
-        attributes.put("createTime", new SimpleDateFormat("HH:mm:ss")
-                .format(new Date(time.toMillis())));
+        if (!lazy) {
+            loadAttribute("type");
+        }
+    }
 
-        time = attrs.lastAccessTime();
-        attributes.put("accessTime", new SimpleDateFormat("HH:mm:ss")
-                .format(new Date(time.toMillis())));
+    /**
+     * Fetch the owner or the type from operating system if they are not fetched yet.
+     *
+     * @param key The attribute key you want to fetch.
+     * @throws IOException Throws IOException if data fetch failed.
+     */
+    private void loadAttribute(String key) throws IOException {
+        if (key.equals("owner") && attributes.getOwner() == null) {
+            attributes = attributes.withOwner(Files.getOwner(path).getName());
+        } else if (key.equals("type") && attributes.getType() == null) {
+            attributes = attributes.withType(ContentTypeDetector.getInstance()
+                    .detect(path, attributes.getSize(), attributes.getModifiedMillis()));
+        }
     }
 
     /**
@@ -121,8 +111,8 @@ public class File {
      * @throws IOException Throws IOException if it was unable to delete the file.
      */
     public boolean delete() throws IOException {
-        FileUtils.delete(new java.io.File(filePath));
-        return false;
+        Files.delete(Path.of(filePath));
+        return true;
     }
 
     /**
@@ -149,44 +139,38 @@ public class File {
 
     /**
      * Check and detect if the file is locked by another process in the operating system or not.
+     * It only tries to lock the file without blocking and never renames it.
+     * A file that another process holds with a shared lock can still be read and is not detected as locked.
      *
      * @return Returns true if file is locked and false if not.
      */
     public boolean isLocked() {
-        boolean blocked = false;
-        java.io.File currentFile = new java.io.File(filePath);
-
-        try (RandomAccessFile fis = new RandomAccessFile(currentFile, "rw")) {
-            FileLock lck = fis.getChannel().lock();
-            lck.release();
-        } catch (Exception ex) {
-            blocked = true;
-        }
-
-        if (blocked) {
-            return blocked;
-        }
-
-        String parent = currentFile.getParent(), rnd = UUID.randomUUID().toString();
-
-        java.io.File newName = new java.io.File(parent + "/" + rnd);
-        if (currentFile.renameTo(newName)) {
-            newName.renameTo(currentFile);
-        } else {
-            blocked = true;
-        }
-
-        return blocked;
+        return LockProbe.probe(path) == LockState.Locked;
     }
 
     /**
      * Gets an attribute value by the key.
+     * In lazy mode owner and type are fetched on first access.
      * @param key The key you want to search.
      * @return Returns the attribute value that found.
+     * @throws UncheckedIOException Throws UncheckedIOException if a lazy attribute could not be fetched.
      */
     public Object getAttribute(String key) {
-        return attributes.get(key);
-    }
+        try {
+            loadAttribute(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
+        return attributes.getAttribute(key);
+    }
 
+    /**
+     * Gets the typed attributes of the file, owner and type may be null in lazy mode until they are requested.
+     *
+     * @return Returns the attribute record.
+     */
+    public PathAttributes getAttributes() {
+        return attributes;
+    }
 }
@@ -0,0 +1,172 @@
+package org.darkdev5.lib.io;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.darkdev5.lib.io.detect.ContentTypeDetector;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fetches attributes of many paths at once on a work-stealing pool.
+ * Every path is read with a single Files.readAttributes call, on POSIX file systems that call also returns the owner.
+ * Content types come from the shared ContentTypeDetector.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter @Setter class FileAttributeBatch {
+    private static final int ROWS_PER_TASK = 64;
+
+    private int parallelism;
+    private boolean fetchOwner;
+    private boolean detectType;
+    private boolean followLinks;
+
+    public FileAttributeBatch() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public FileAttributeBatch(int parallelism) {
+        this.parallelism = parallelism;
+        this.fetchOwner = true;
+        this.detectType = false;
+        this.followLinks = true;
+    }
+
+    /**
+     * Fetch attributes of all paths. A path that can not be read does not stop the batch,
+     * its error is kept in the table.
+     *
+     * @param paths The paths you want to read.
+     * @return Returns a table with one row per path in the same order.
+     * @throws IOException Throws IOException if the batch was interrupted.
+     */
+    public FileAttributeTable fetch(Collection<Path> paths) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+
+        FileAttributeTable table = new FileAttributeTable(new ArrayList<>(paths));
+        if (table.size() == 0) {
+            return table;
+        }
+
+        boolean posix = fetchOwner && table.getPath(0).getFileSystem().supportedFileAttributeViews().contains("posix");
+        LinkOption[] options = followLinks ? new LinkOption[0] : new LinkOption[]{LinkOption.NOFOLLOW_LINKS};
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(new RowsTask(table, 0, table.size(), posix, options)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Fetching attributes was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return table;
+    }
+
+    /**
+     * Fetch attributes of all paths.
+     *
+     * @param paths The paths you want to read.
+     * @return Returns a table with one row per path in the same order.
+     * @throws IOException Throws IOException if the batch was interrupted.
+     */
+    public FileAttributeTable fetch(String... paths) throws IOException {
+        List<Path> list = new ArrayList<>(paths.length);
+        for (String path : paths) {
+            list.add(Path.of(path.trim()));
+        }
+
+        return fetch(list);
+    }
+
+    private void read(FileAttributeTable table, int row, boolean posix, LinkOption[] options) {
+        Path path = table.getPath(row);
+
+        try {
+            BasicFileAttributes attrs = posix ?
+                    Files.readAttributes(path, PosixFileAttributes.class, options) :
+                    Files.readAttributes(path, BasicFileAttributes.class, options);
+
+            table.sizes[row] = attrs.size();
+            table.modified[row] = attrs.lastModifiedTime().toMillis();
+            table.created[row] = attrs.creationTime().toMillis();
+            table.accessed[row] = attrs.lastAccessTime().toMillis();
+
+            byte flags = 0;
+            if (attrs.isDirectory()) {
+                flags |= FileAttributeTable.FLAG_DIRECTORY;
+            }
+            if (attrs.isSymbolicLink()) {
+                flags |= FileAttributeTable.FLAG_SYMBOLIC_LINK;
+            }
+            if (attrs.isOther()) {
+                flags |= FileAttributeTable.FLAG_OTHER;
+            }
+            table.flags[row] = flags;
+
+            if (attrs instanceof PosixFileAttributes posixAttrs) {
+                table.owners[row] = posixAttrs.owner().getName();
+            } else if (fetchOwner) {
+                table.owners[row] = Files.getOwner(path, options).getName();
+            }
+
+            if (detectType && attrs.isRegularFile()) {
+                table.types[row] = ContentTypeDetector.getInstance().detect(path, attrs);
+            }
+        } catch (IOException e) {
+            table.errors[row] = e;
+        }
+    }
+
+    private class RowsTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final FileAttributeTable table;
+        private final int from;
+        private final int to;
+        private final boolean posix;
+        private final LinkOption[] options;
+
+        private RowsTask(FileAttributeTable table, int from, int to, boolean posix, LinkOption[] options) {
+            this.table = table;
+            this.from = from;
+            this.to = to;
+            this.posix = posix;
+            this.options = options;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                for (int row = from; row < to; row++) {
+                    read(table, row, posix, options);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new RowsTask(table, from, middle, posix, options),
+                    new RowsTask(table, middle, to, posix, options));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.darkdev5.lib.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Attributes of many paths stored column by column in primitive arrays, one row per path in input order.
+ * Text attributes like dates are formatted only when they are requested.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public class FileAttributeTable {
+    static final byte FLAG_DIRECTORY = 1;
+    static final byte FLAG_SYMBOLIC_LINK = 2;
+    static final byte FLAG_OTHER = 4;
+
+    private final Path[] paths;
+    final long[] sizes;
+    final long[] modified;
+    final long[] created;
+    final long[] accessed;
+    final byte[] flags;
+    final String[] owners;
+    final String[] types;
+    final IOException[] errors;
+
+    FileAttributeTable(List<Path> paths) {
+        int count = paths.size();
+
+        this.paths = paths.toArray(Path[]::new);
+        this.sizes = new long[count];
+        this.modified = new long[count];
+        this.created = new long[count];
+        this.accessed = new long[count];
+        this.flags = new byte[count];
+        this.owners = new String[count];
+        this.types = new String[count];
+        this.errors = new IOException[count];
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return Returns the number of paths in the table.
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    public Path getPath(int row) {
+        return paths[row];
+    }
+
+    public long getSize(int row) {
+        return sizes[row];
+    }
+
+    public long getModifiedMillis(int row) {
+        return modified[row];
+    }
+
+    public long getCreatedMillis(int row) {
+        return created[row];
+    }
+
+    public long getAccessedMillis(int row) {
+        return accessed[row];
+    }
+
+    public boolean isDirectory(int row) {
+        return (flags[row] & FLAG_DIRECTORY) != 0;
+    }
+
+    public boolean isSymbolicLink(int row) {
+        return (flags[row] & FLAG_SYMBOLIC_LINK) != 0;
+    }
+
+    /**
+     * Gets the owner name of a row.
+     *
+     * @param row The row index.
+     * @return Returns the owner or null if owners were not fetched.
+     */
+    public String getOwner(int row) {
+        return owners[row];
+    }
+
+    /**
+     * Gets the content type of a row.
+     *
+     * @param row The row index.
+     * @return Returns the content type or null if types were not detected or the path is a folder.
+     */
+    public String getType(int row) {
+        return types[row];
+    }
+
+    /**
+     * Gets the error of a row.
+     *
+     * @param row The row index.
+     * @return Returns the error that stopped reading the path or null if it was read.
+     */
+    public IOException getError(int row) {
+        return errors[row];
+    }
+
+    /**
+     * Detect if a row could not be read.
+     *
+     * @param row The row index.
+     * @return Returns true if the path could not be read and false if not.
+     */
+    public boolean isFailed(int row) {
+        return errors[row] != null;
+    }
+
+    /**
+     * Gets the attributes of a row as a typed attribute record.
+     *
+     * @param row The row index.
+     * @return Returns the attributes or null if the row failed.
+     */
+    public PathAttributes getAttributes(int row) {
+        if (isFailed(row)) {
+            return null;
+        }
+
+        return new PathAttributes(paths[row], isDirectory(row), sizes[row], modified[row], created[row],
+                accessed[row], owners[row], types[row]);
+    }
+
+    /**
+     * Gets an attribute value of a row by the same keys as File.getAttribute().
+     *
+     * @param row The row index.
+     * @param key The key you want to search.
+     * @return Returns the attribute value or null if the key is unknown or the row failed.
+     */
+    public Object getAttribute(int row, String key) {
+        PathAttributes attributes = getAttributes(row);
+        return attributes == null ? null : attributes.getAttribute(key);
+    }
+}
@@ -0,0 +1,28 @@
+package org.darkdev5.lib.io;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Shared thread-safe formatters for the date and time attributes of files and folders.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+final class FileTimeFormat {
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private FileTimeFormat() {
+    }
+
+    static String date(long epochMillis) {
+        return DATE.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()));
+    }
+
+    static String time(long epochMillis) {
+        return TIME.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()));
+    }
+}
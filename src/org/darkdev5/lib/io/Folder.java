@@ -1,21 +1,25 @@
 package org.darkdev5.lib.io;
 
 import lombok.Getter;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
+import org.darkdev5.lib.io.async.AsyncTasks;
+import org.darkdev5.lib.io.async.ProgressListener;
+import org.darkdev5.lib.io.delete.BulkDeleter;
+import org.darkdev5.lib.io.delete.DeleteResult;
 import org.darkdev5.lib.io.option.FolderListType;
 
-import javax.swing.filechooser.FileSystemView;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.FileTime;
-import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * @author darkDev5
@@ -23,8 +27,9 @@ import java.util.*;
  * @since 17
  */
 public class Folder {
-    private Map<String, Object> attributes;
+    private PathAttributes attributes;
     private @Getter String folderPath;
+    private @Getter FolderWatcher watcher;
 
     public Folder(String folderPath) throws IOException {
         setFolderPath(folderPath);
@@ -37,83 +42,70 @@ public class Folder {
      * @throws IOException Throws IOException is from initValues() method.
      */
     public void setFolderPath(String folderPath) throws IOException {
+        unwatch();
         this.folderPath = folderPath.trim();
         initValues();
     }
 
     /**
-     * Initialize attributes and fetch data from operating system and put it in the attributes.
+     * Initialize attributes and fetch data from operating system and keep it in a compact attribute record.
      *
      * @throws IOException Throws IOException if data fetch failed.
      */
     private void initValues() throws IOException {
-        if (!Files.exists(Path.of(folderPath)) || !Files.isDirectory(Path.of(folderPath))) {
-            throw new IOException("There is no directory in this path.");
+        try {
+            attributes = PathAttributes.read(Path.of(folderPath), true);
+        } catch (IOException e) {
+            throw new IOException("There is no directory in this path.", e);
         }
 
-        attributes = new HashMap<>() {{
-            put("owner", Files.getOwner(Path.of(folderPath)).getName());
-        }};
-
-        if (List.of(File.listRoots()).contains(new File(folderPath))) {
-            attributes.put("name", folderPath);
-            attributes.put("parentPath", folderPath);
-            attributes.put("parentName", folderPath);
-        } else {
-            attributes.put("name", Path.of(folderPath).getFileName().toString());
-            attributes.put("parentPath", new File(folderPath).getParentFile().getAbsolutePath());
-
-            if (Path.of(folderPath).getParent().getFileName() == null) {
-                attributes.put("parentName", Path.of(folderPath).getRoot().toString());
-            } else {
-                attributes.put("parentName", Path.of(folderPath).getParent().getFileName().toString());
-            }
+        if (!attributes.isDirectory()) {
+            throw new IOException("There is no directory in this path.");
         }
+    }
 
-        BasicFileAttributes attrs = Files.readAttributes(Path.of(folderPath),
-                BasicFileAttributes.class);
-
-        FileTime time = attrs.lastModifiedTime();
-        attributes.put("modifyDate", new SimpleDateFormat("yyyy-MM-dd")
-                .format(new Date(time.toMillis())));
-
-        time = attrs.creationTime();
-        attributes.put("createDate", new SimpleDateFormat("yyyy-MM-dd")
-                .format(new Date(time.toMillis())));
-
-        time = attrs.lastAccessTime();
-        attributes.put("accessDate", new SimpleDateFormat("yyyy-MM-dd")
-                .format(new Date(time.toMillis())));
-
-        time = attrs.lastModifiedTime();
-        attributes.put("modifyTime", new SimpleDateFormat("HH:mm:ss")
-                .format(new Date(time.toMillis())));
-
-        time = attrs.creationTime();
-        attributes.put("createTime", new SimpleDateFormat("HH:mm:ss")
-                .format(new Date(time.toMillis())));
-
-        time = attrs.lastAccessTime();
-        attributes.put("accessTime", new SimpleDateFormat("HH:mm:ss")
-                .format(new Date(time.toMillis())));
+    /**
+     * Get the size of folder. Sub folders are measured in parallel and every folder is listed again,
+     * use getSize(true) to reuse sizes of unchanged folders.
+     *
+     * @return Returns the size of folder.
+     */
+    public long getSize() {
+        return getSize(false);
     }
 
     /**
      * Get the size of folder.
      *
+     * Folders and files that can not be read are skipped.
+     *
+     * @param cached True to reuse sizes of unchanged folders and false to list every folder again.
      * @return Returns the size of folder.
      */
-    public long getSize() {
-        return FileUtils.sizeOfDirectory(new File(folderPath));
+    public long getSize(boolean cached) {
+        if (isWatched()) {
+            return watcher.getSize();
+        }
+
+        return FolderSizeCalculator.sizeOf(Path.of(folderPath), cached);
     }
 
     /**
-     * Detect if a folder is empty or not.
+     * Detect if a folder is empty or not. It stops at the first file that is not empty,
+     * symbolic links are not counted like in getSize().
      *
      * @return Returns true if folder is empty and false if not.
      */
     public boolean isEmpty() {
-        return FileUtils.sizeOfDirectory(new File(folderPath)) == 0;
+        if (isWatched()) {
+            return watcher.getSize() == 0;
+        }
+
+        try {
+            return walk(true, (pth, attrs) -> attrs.isDirectory() || attrs.isSymbolicLink() || attrs.size() == 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -132,25 +124,62 @@ public class Folder {
      * @param type       You can select to list only files or folders.
      * @param showHidden True if you want hidden files and false if not.
      * @return The list of files you fetched from a path.
+     * @throws UncheckedIOException Throws UncheckedIOException if unable to list the folder.
      */
     public List<Path> list(FolderListType type, boolean showHidden) {
-        List<File> tmp = List.of(
-                FileSystemView.getFileSystemView().getFiles(new File(folderPath), !showHidden)
-        );
-
-        List<Path> content = new ArrayList<>();
-        switch (type) {
-            case File -> {
-                tmp = tmp.stream().filter(x -> !x.isDirectory()).toList();
-            }
+        if (isWatched()) {
+            return watcher.list(type, showHidden);
+        }
 
-            case Folder -> {
-                tmp = tmp.stream().filter(File::isDirectory).toList();
-            }
+        return list(type, showHidden, null, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * List the folder content that their names match a glob like "*.{txt,log}".
+     *
+     * @param type       You can select to list only files or folders.
+     * @param showHidden True if you want hidden files and false if not.
+     * @param glob       The glob that names must match or null to list every name.
+     * @return The list of files you fetched from a path.
+     * @throws UncheckedIOException Throws UncheckedIOException if unable to list the folder.
+     */
+    public List<Path> list(FolderListType type, boolean showHidden, String glob) {
+        return list(type, showHidden, glob, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * List one page of the folder content. Pages follow the order the operating system returns the entries,
+     * so they are stable as long as the folder is not changed between calls.
+     *
+     * @param type       You can select to list only files or folders.
+     * @param showHidden True if you want hidden files and false if not.
+     * @param glob       The glob that names must match or null to list every name.
+     * @param offset     Number of matched entries to skip, it can not be negative.
+     * @param limit      Maximum number of entries to return, it can not be negative and 0 returns an empty list.
+     * @return The list of files you fetched from a path.
+     * @throws UncheckedIOException Throws UncheckedIOException if unable to list the folder.
+     */
+    public List<Path> list(FolderListType type, boolean showHidden, String glob, long offset, int limit) {
+        try {
+            return new FolderLister(Path.of(folderPath), type, showHidden, glob).list(offset, limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        tmp.forEach(file -> content.add(file.toPath()));
-        return content;
+    /**
+     * Pass the folder content to the listener as soon as it is read, nothing is kept in memory.
+     *
+     * @param type       You can select to list only files or folders.
+     * @param showHidden True if you want hidden files and false if not.
+     * @param glob       The glob that names must match or null to list every name.
+     * @param listener   The listener that receives every path with its attributes, it can stop the listing early.
+     * @return Returns true if entire folder listed and false if listener stopped the listing.
+     * @throws IOException Throws IOException if unable to list the folder.
+     */
+    public boolean list(FolderListType type, boolean showHidden, String glob, FolderWalkListener listener)
+            throws IOException {
+        return new FolderLister(Path.of(folderPath), type, showHidden, glob).stream(true, listener);
     }
 
     /**
@@ -164,20 +193,83 @@ public class Folder {
         FolderVisitor visitor = new FolderVisitor(showHidden);
         Files.walkFileTree(Path.of(folderPath), visitor);
 
-        visitor.getVisited().remove(visitor.getVisited().size() - 1);
-
         return visitor;
     }
 
     /**
-     * Delete the folder from the path.
+     * Walk in sub folders and pass every path to the listener as soon as it is found, nothing is kept in memory.
+     *
+     * @param showHidden True if you want hidden files and false if not.
+     * @param listener   The listener that receives visited and failed paths, it can stop the walk early.
+     * @return Returns true if entire folder walked and false if listener stopped the walk.
+     * @throws IOException Throws IOException if walking has error.
+     */
+    public boolean walk(boolean showHidden, FolderWalkListener listener) throws IOException {
+        if (isWatched()) {
+            return watcher.walk(showHidden, listener);
+        }
+
+        StreamingFolderVisitor visitor = new StreamingFolderVisitor(showHidden, listener);
+        Files.walkFileTree(Path.of(folderPath), visitor);
+
+        return !visitor.isTerminated();
+    }
+
+    /**
+     * Walk in sub folders like walk(boolean) but fan out sub folders on several threads.
+     *
+     * @param showHidden  True if you want hidden files and false if not.
+     * @param parallelism Number of threads that walk the folder.
+     * @return Returns a FileVisitor class object and you can fetch data from it easily.
+     * @throws IOException Throws IOException if walking has error.
+     */
+    public FolderVisitor walk(boolean showHidden, int parallelism) throws IOException {
+        return new ParallelFolderWalker(showHidden, parallelism).walk(Path.of(folderPath));
+    }
+
+    /**
+     * Start watching the folder so getSize(), list() and walk() are answered from memory.
+     * If the folder is already watched the current watcher is returned, a watcher that stopped is closed and replaced.
+     *
+     * @return Returns the watcher that keeps the folder snapshot up to date.
+     * @throws IOException Throws IOException if unable to scan or watch the folder.
+     */
+    public FolderWatcher watch() throws IOException {
+        if (!isWatched()) {
+            if (watcher != null) {
+                watcher.close();
+            }
+            watcher = new FolderWatcher(Path.of(folderPath));
+        }
+
+        return watcher;
+    }
+
+    /**
+     * Stop watching the folder, next calls read from the disk again.
+     *
+     * @throws IOException Throws IOException if unable to close the watcher.
+     */
+    public void unwatch() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    private boolean isWatched() {
+        return watcher != null && watcher.isActive();
+    }
+
+    /**
+     * Delete the folder from the path. Files are deleted in parallel and a failed path does not stop
+     * deleting the rest of the tree.
      *
      * @return Returns true if folder deleted successfully and false if not.
-     * @throws IOException Throws IOException if it was unable to delete the folder.
+     * @throws IOException Throws IOException with every failed path suppressed if it was unable to delete the folder.
      */
     public boolean delete() throws IOException {
-        FileUtils.deleteDirectory(new File(folderPath));
-        return true;
+        return deleteContent(true, null);
     }
 
     /**
@@ -202,14 +294,156 @@ public class Folder {
     }
 
     /**
-     * Erase the folder entire content and makes it empty.
+     * Erase the folder entire content and makes it empty. Files are deleted in parallel and a failed path
+     * does not stop deleting the rest of the content.
      *
      * @return True if erasing was successful and false if not.
-     * @throws IOException Throws IOException if error detected in renaming operation.
+     * @throws IOException Throws IOException with every failed path suppressed if it was unable to erase the folder.
      */
     public boolean erase() throws IOException {
-        FileUtils.cleanDirectory(new File(folderPath));
-        return true;
+        return deleteContent(false, null);
+    }
+
+    /**
+     * Get the size of folder without blocking the calling thread.
+     *
+     * @return Returns a future of getSize(), cancelling it stops measuring.
+     */
+    public CompletableFuture<Long> getSizeAsync() {
+        return getSizeAsync(null, null);
+    }
+
+    /**
+     * Get the size of folder without blocking the calling thread.
+     *
+     * @param executor The executor that runs the operation or null for the default executor.
+     * @param listener Receives the number of measured folders from several threads or null if you do not need progress.
+     * @return Returns a future of getSize(), cancelling it stops measuring.
+     */
+    public CompletableFuture<Long> getSizeAsync(Executor executor, ProgressListener listener) {
+        return AsyncTasks.supply(() -> {
+            if (isWatched()) {
+                return watcher.getSize();
+            }
+
+            return FolderSizeCalculator.sizeOf(Path.of(folderPath), false, done -> report(listener, done, -1));
+        }, executor);
+    }
+
+    /**
+     * Walk in sub folders like walk(boolean) without blocking the calling thread.
+     *
+     * @param showHidden True if you want hidden files and false if not.
+     * @return Returns a future of the visitor, cancelling it stops the walk.
+     */
+    public CompletableFuture<FolderVisitor> walkAsync(boolean showHidden) {
+        return walkAsync(showHidden, null, null);
+    }
+
+    /**
+     * Walk in sub folders like walk(boolean) without blocking the calling thread.
+     *
+     * @param showHidden True if you want hidden files and false if not.
+     * @param executor   The executor that runs the operation or null for the default executor.
+     * @param listener   Receives the number of visited paths or null if you do not need progress.
+     * @return Returns a future of the visitor, cancelling it stops the walk.
+     */
+    public CompletableFuture<FolderVisitor> walkAsync(boolean showHidden, Executor executor,
+                                                      ProgressListener listener) {
+        return AsyncTasks.supply(() -> {
+            long[] done = new long[1];
+
+            FolderVisitor visitor = new FolderVisitor(showHidden) {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                    return super.preVisitDirectory(dir, attrs);
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return FileVisitResult.TERMINATE;
+                    }
+
+                    report(listener, ++done[0], -1);
+                    return super.visitFile(file, attrs);
+                }
+            };
+            Files.walkFileTree(Path.of(folderPath), visitor);
+
+            return visitor;
+        }, executor);
+    }
+
+    /**
+     * Delete the folder without blocking the calling thread.
+     *
+     * @return Returns a future that is true if folder deleted, cancelling it stops deleting.
+     */
+    public CompletableFuture<Boolean> deleteAsync() {
+        return deleteAsync(null, null);
+    }
+
+    /**
+     * Delete the folder without blocking the calling thread.
+     *
+     * @param executor The executor that runs the operation or null for the default executor.
+     * @param listener Receives the number of deleted paths or null if you do not need progress.
+     * @return Returns a future that is true if folder deleted, cancelling it stops deleting.
+     */
+    public CompletableFuture<Boolean> deleteAsync(Executor executor, ProgressListener listener) {
+        return AsyncTasks.supply(() -> deleteContent(true, listener), executor);
+    }
+
+    /**
+     * Erase the folder entire content without blocking the calling thread.
+     *
+     * @return Returns a future that is true if folder erased, cancelling it stops erasing.
+     */
+    public CompletableFuture<Boolean> eraseAsync() {
+        return eraseAsync(null, null);
+    }
+
+    /**
+     * Erase the folder entire content without blocking the calling thread.
+     *
+     * @param executor The executor that runs the operation or null for the default executor.
+     * @param listener Receives the number of deleted paths or null if you do not need progress.
+     * @return Returns a future that is true if folder erased, cancelling it stops erasing.
+     */
+    public CompletableFuture<Boolean> eraseAsync(Executor executor, ProgressListener listener) {
+        return AsyncTasks.supply(() -> deleteContent(false, listener), executor);
+    }
+
+    /**
+     * Delete the folder content with BulkDeleter and stop when the thread is interrupted.
+     *
+     * @param deleteRoot True to also delete the folder itself and false to keep it.
+     * @param listener   Receives the number of deleted paths, can be null.
+     * @return Returns true if everything is deleted and false if it was interrupted.
+     * @throws IOException Throws IOException with every failed path suppressed if a path could not be deleted.
+     */
+    private boolean deleteContent(boolean deleteRoot, ProgressListener listener) throws IOException {
+        BulkDeleter deleter = new BulkDeleter();
+        deleter.setProgressListener(listener);
+
+        DeleteResult result = deleter.delete(Path.of(folderPath), deleteRoot);
+        if (!result.getFailures().isEmpty()) {
+            IOException exception = new IOException("Unable to delete " + result.getFailures().size() + " paths.");
+            result.getFailures().values().forEach(exception::addSuppressed);
+            throw exception;
+        }
+
+        return result.isCompleted();
+    }
+
+    private static void report(ProgressListener listener, long done, long total) {
+        if (listener != null) {
+            listener.progress(done, total);
+        }
     }
 
     /**
@@ -218,6 +452,15 @@ public class Folder {
      * @return Returns the attribute value that found.
      */
     public Object getAttribute(String key) {
-        return attributes.get(key);
+        return attributes.getAttribute(key);
+    }
+
+    /**
+     * Gets the typed attributes of the folder.
+     *
+     * @return Returns the attribute record.
+     */
+    public PathAttributes getAttributes() {
+        return attributes;
     }
 }
@@ -0,0 +1,154 @@
+package org.darkdev5.lib.io;
+
+import org.darkdev5.lib.io.option.FolderListType;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lists the content of one folder with a DirectoryStream.
+ * Every entry costs at most one attribute read that answers both its type and whether it is hidden,
+ * and listing any type without attributes on Unix needs no read at all because hidden files are named with a dot.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+class FolderLister {
+    private final Path dir;
+    private final FolderListType type;
+    private final boolean showHidden;
+    private final String glob;
+    private final boolean dos;
+
+    /**
+     * @param dir        The folder you want to list.
+     * @param type       You can select to list only files or folders.
+     * @param showHidden True if you want hidden files and false if not.
+     * @param glob       The glob that names must match or null to list every name.
+     */
+    FolderLister(Path dir, FolderListType type, boolean showHidden, String glob) {
+        Set<String> views = dir.getFileSystem().supportedFileAttributeViews();
+
+        this.dir = dir;
+        this.type = type;
+        this.showHidden = showHidden;
+        this.glob = glob;
+        this.dos = views.contains("dos") && !views.contains("posix");
+    }
+
+    /**
+     * List a page of the folder content. Pages follow the order of the folder stream,
+     * so they are stable as long as the folder is not changed between calls.
+     *
+     * @param offset Number of matched entries to skip.
+     * @param limit  Maximum number of entries to return, 0 returns an empty list.
+     * @return Returns the list of paths.
+     * @throws IOException Throws IOException if unable to list the folder.
+     */
+    List<Path> list(long offset, int limit) throws IOException {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit can not be negative.");
+        }
+
+        List<Path> content = new ArrayList<>();
+        if (limit == 0) {
+            return content;
+        }
+
+        long[] skipped = {0};
+
+        stream(false, (path, attrs) -> {
+            if (skipped[0] < offset) {
+                skipped[0]++;
+                return true;
+            }
+
+            content.add(path);
+            return content.size() < limit;
+        });
+
+        return content;
+    }
+
+    /**
+     * Pass every matched entry to the listener as soon as it is read.
+     *
+     * @param withAttributes True if listener needs the attributes, otherwise attributes may be null.
+     * @param listener       The listener that receives matched paths, it can stop the listing early.
+     * @return Returns true if entire folder listed and false if listener stopped the listing.
+     * @throws IOException Throws IOException if unable to list the folder.
+     */
+    boolean stream(boolean withAttributes, FolderWalkListener listener) throws IOException {
+        boolean needAttributes = withAttributes || type != FolderListType.Any || (dos && !showHidden);
+
+        try (DirectoryStream<Path> stream = glob == null ?
+                Files.newDirectoryStream(dir) : Files.newDirectoryStream(dir, glob)) {
+            for (Path path : stream) {
+                BasicFileAttributes attrs = null;
+                boolean hidden;
+
+                if (needAttributes) {
+                    try {
+                        attrs = readAttributes(path);
+                    } catch (IOException e) {
+                        listener.visitFailed(path, e);
+                        continue;
+                    }
+
+                    hidden = attrs instanceof DosFileAttributes dosAttrs ? dosAttrs.isHidden() : isDotFile(path);
+                } else {
+                    hidden = isDotFile(path);
+                }
+
+                if ((!showHidden && hidden) || !matches(attrs)) {
+                    continue;
+                }
+
+                if (!listener.visit(path, attrs)) {
+                    return false;
+                }
+            }
+        } catch (DirectoryIteratorException e) {
+            throw e.getCause();
+        }
+
+        return true;
+    }
+
+    /**
+     * Read attributes of the link target like java.io.File does, so links to folders are listed as folders.
+     * A broken link is read itself and listed as a file.
+     */
+    private BasicFileAttributes readAttributes(Path path) throws IOException {
+        Class<? extends BasicFileAttributes> view = dos ? DosFileAttributes.class : BasicFileAttributes.class;
+
+        try {
+            return Files.readAttributes(path, view);
+        } catch (NoSuchFileException e) {
+            return Files.readAttributes(path, view, LinkOption.NOFOLLOW_LINKS);
+        }
+    }
+
+    private boolean matches(BasicFileAttributes attrs) {
+        return switch (type) {
+            case File -> !attrs.isDirectory();
+            case Folder -> attrs.isDirectory();
+            case Any -> true;
+        };
+    }
+
+    private static boolean isDotFile(Path path) {
+        return path.getFileName().toString().startsWith(".");
+    }
+}
@@ -0,0 +1,183 @@
+package org.darkdev5.lib.io;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Computes folder sizes in parallel and remembers the size of files directly inside every folder.
+ * A remembered folder is listed again only when its modified time changes, so a folder costs one stat.
+ * Changing the content of a file in place does not change its folder modified time and is not noticed.
+ * Folders and files that can not be read and symbolic links are skipped like FileUtils.sizeOfDirectory does.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+class FolderSizeCalculator {
+    private static final int MAX_CACHED_FOLDERS = 1_000_000;
+
+    private static final Map<Path, FolderSize> CACHE = new ConcurrentHashMap<>();
+
+    private record FolderSize(long modified, long filesSize, Path[] folders) {
+    }
+
+    private FolderSizeCalculator() {
+    }
+
+    /**
+     * Compute the size of all files inside the folder.
+     *
+     * @param root   The folder you want to measure.
+     * @param cached True to use remembered folders and false to list every folder again.
+     * @return Returns the size of folder.
+     */
+    static long sizeOf(Path root, boolean cached) {
+        return ForkJoinPool.commonPool().invoke(new SizeTask(root.toAbsolutePath().normalize(), new Run(cached, null)));
+    }
+
+    /**
+     * Compute the size of all files inside the folder and stop when the calling thread is interrupted.
+     *
+     * @param root     The folder you want to measure.
+     * @param cached   True to use remembered folders and false to list every folder again.
+     * @param progress Receives the number of measured folders from several threads, or null.
+     * @return Returns the size of folder.
+     * @throws InterruptedException Throws InterruptedException if the calling thread was interrupted.
+     */
+    static long sizeOf(Path root, boolean cached, LongConsumer progress) throws InterruptedException {
+        Run run = new Run(cached, progress);
+        SizeTask task = new SizeTask(root.toAbsolutePath().normalize(), run);
+
+        ForkJoinPool.commonPool().execute(task);
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            run.stopped.set(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static FolderSize list(Path dir, long modified) throws IOException {
+        long filesSize = 0;
+        List<Path> folders = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path entry : stream) {
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (IOException e) {
+                    continue;
+                }
+
+                if (attrs.isDirectory()) {
+                    folders.add(entry);
+                } else if (!attrs.isSymbolicLink()) {
+                    filesSize += attrs.size();
+                }
+            }
+        } catch (DirectoryIteratorException e) {
+            throw e.getCause();
+        }
+
+        return new FolderSize(modified, filesSize, folders.toArray(Path[]::new));
+    }
+
+    private static void remember(Path dir, FolderSize size) {
+        if (CACHE.size() >= MAX_CACHED_FOLDERS) {
+            Iterator<Path> iterator = CACHE.keySet().iterator();
+            for (int i = 0; i < MAX_CACHED_FOLDERS / 10 && iterator.hasNext(); i++) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+        CACHE.put(dir, size);
+    }
+
+    private static class Run {
+        private final boolean cached;
+        private final LongConsumer progress;
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final AtomicLong folders = new AtomicLong();
+
+        private Run(boolean cached, LongConsumer progress) {
+            this.cached = cached;
+            this.progress = progress;
+        }
+    }
+
+    private static class SizeTask extends RecursiveTask<Long> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+        private final Run run;
+
+        private SizeTask(Path dir, Run run) {
+            this.dir = dir;
+            this.run = run;
+        }
+
+        @Override
+        protected Long compute() {
+            if (run.stopped.get()) {
+                return 0L;
+            }
+
+            FolderSize size;
+            try {
+                long modified = Files.getLastModifiedTime(dir, LinkOption.NOFOLLOW_LINKS).toMillis();
+
+                size = run.cached ? CACHE.get(dir) : null;
+                if (size == null || size.modified() != modified) {
+                    size = list(dir, modified);
+                    if (run.cached) {
+                        remember(dir, size);
+                    }
+                }
+            } catch (IOException e) {
+                return 0L;
+            }
+
+            if (run.progress != null) {
+                run.progress.accept(run.folders.incrementAndGet());
+            }
+
+            List<SizeTask> subTasks = new ArrayList<>(size.folders().length);
+            for (Path folder : size.folders()) {
+                subTasks.add(new SizeTask(folder, run));
+            }
+
+            long total = size.filesSize();
+            for (SizeTask task : ForkJoinTask.invokeAll(subTasks)) {
+                total += task.join();
+            }
+
+            return total;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.darkdev5.lib.io;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,6 +14,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Collects every file and folder of a tree except the root folder, folders come after their content.
+ * Hidden folders are skipped with their whole content when showHidden is false.
+ * Use a new visitor for every walk.
+ *
  * @author darkDev5
  * @version 1.0
  * @since 17
@@ -22,6 +27,7 @@ public @Getter class FolderVisitor extends SimpleFileVisitor<Path> {
     private List<Path> visitedFailed;
 
     private @Setter boolean showHidden;
+    private @Getter(AccessLevel.NONE) Path root;
 
     public FolderVisitor(boolean showHidden) {
         visited = new ArrayList<>();
@@ -30,27 +36,43 @@ public @Getter class FolderVisitor extends SimpleFileVisitor<Path> {
         this.showHidden = showHidden;
     }
 
+    FolderVisitor(boolean showHidden, List<Path> visited, List<Path> visitedFailed) {
+        this.visited = visited;
+        this.visitedFailed = visitedFailed;
+
+        this.showHidden = showHidden;
+    }
+
     @Override
     public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-        return super.preVisitDirectory(dir, attrs);
+        if (root == null) {
+            root = dir;
+            return FileVisitResult.CONTINUE;
+        }
+
+        try {
+            if (!showHidden && Files.isHidden(dir)) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+        } catch (IOException e) {
+            visitedFailed.add(dir);
+            return FileVisitResult.SKIP_SUBTREE;
+        }
+
+        return FileVisitResult.CONTINUE;
     }
 
     @Override
     public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
         try {
-            if (showHidden && !Files.isHidden(file)) {
+            if (showHidden || !Files.isHidden(file)) {
                 visited.add(file);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+        } catch (IOException e) {
             visitedFailed.add(file);
-        } finally {
-            if (!visited.contains(file)) {
-                visited.add(file);
-            }
         }
 
-        return super.visitFile(file, attrs);
+        return FileVisitResult.CONTINUE;
     }
 
     @Override
@@ -61,11 +83,13 @@ public @Getter class FolderVisitor extends SimpleFileVisitor<Path> {
 
     @Override
     public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-        if (showHidden && !Files.isHidden(dir)) {
+        if (exc != null) {
+            visitedFailed.add(dir);
+        } else if (!dir.equals(root)) {
             visited.add(dir);
         }
 
-        return super.postVisitDirectory(dir, exc);
+        return FileVisitResult.CONTINUE;
     }
 
 }
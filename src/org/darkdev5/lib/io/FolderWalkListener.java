@@ -0,0 +1,33 @@
+package org.darkdev5.lib.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Receives paths one by one while a folder is being walked.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+@FunctionalInterface
+public interface FolderWalkListener {
+    /**
+     * Called for every file and folder as soon as it is discovered.
+     *
+     * @param path  The path that is visited.
+     * @param attrs The basic attributes of the path.
+     * @return Returns true to continue walking and false to stop it.
+     */
+    boolean visit(Path path, BasicFileAttributes attrs);
+
+    /**
+     * Called for every path that could not be visited.
+     *
+     * @param path The path that failed.
+     * @param exc  The exception that prevented the visit.
+     */
+    default void visitFailed(Path path, IOException exc) {
+    }
+}
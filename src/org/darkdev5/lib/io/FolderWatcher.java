@@ -0,0 +1,338 @@
+package org.darkdev5.lib.io;
+
+import lombok.Getter;
+import org.darkdev5.lib.io.option.FolderListType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps an in-memory snapshot of a folder tree up to date with a WatchService.
+ * Size, listing and walking can be answered from the snapshot without touching the disk.
+ * When events are lost the affected folder is scanned again, not the entire tree.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public class FolderWatcher implements Closeable {
+    private final @Getter Path root;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private final Map<WatchKey, Path> keys;
+    private final Map<Path, WatchKey> watched;
+    private final Map<Path, Entry> entries;
+    private final Map<Path, Set<Path>> children;
+    private final AtomicLong size;
+
+    private volatile @Getter boolean active;
+
+    /**
+     * The error that stopped watching because the snapshot could not be repaired, or null.
+     */
+    private volatile @Getter IOException failure;
+
+    private record Entry(BasicFileAttributes attrs, boolean hidden) {
+    }
+
+    /**
+     * Scan the folder once and start watching it for changes on a background thread.
+     *
+     * @param root The folder you want to watch.
+     * @throws IOException Throws IOException if unable to scan or watch the folder.
+     */
+    public FolderWatcher(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        if (!Files.isDirectory(this.root)) {
+            throw new IOException("There is no directory in this path.");
+        }
+
+        this.watchService = this.root.getFileSystem().newWatchService();
+
+        this.keys = new ConcurrentHashMap<>();
+        this.watched = new ConcurrentHashMap<>();
+        this.entries = new ConcurrentHashMap<>();
+        this.children = new ConcurrentHashMap<>();
+        this.size = new AtomicLong();
+
+        try {
+            scan(this.root);
+        } catch (IOException | RuntimeException e) {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                e.addSuppressed(ex);
+            }
+            throw e;
+        }
+
+        this.active = true;
+        Path name = this.root.getFileName() != null ? this.root.getFileName() : this.root;
+        this.thread = new Thread(this::processEvents, "FolderWatcher-" + name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Get the size of folder from the snapshot.
+     *
+     * @return Returns the total size of files in the folder.
+     */
+    public long getSize() {
+        return size.get();
+    }
+
+    /**
+     * List the folder content from the snapshot and filter their type.
+     *
+     * @param type       You can select to list only files or folders.
+     * @param showHidden True if you want hidden files and false if not.
+     * @return The list of paths directly inside the folder.
+     */
+    public List<Path> list(FolderListType type, boolean showHidden) {
+        List<Path> content = new ArrayList<>();
+
+        for (Path path : children.getOrDefault(root, Set.of())) {
+            Entry entry = entries.get(path);
+            if (entry != null && matches(entry, type, showHidden)) {
+                content.add(path);
+            }
+        }
+
+        return content;
+    }
+
+    /**
+     * Walk the snapshot like Folder.walk(boolean, FolderWalkListener) without touching the disk.
+     *
+     * @param showHidden True if you want hidden files and false if not.
+     * @param listener   The listener that receives every path with its attributes.
+     * @return Returns true if entire snapshot walked and false if listener stopped the walk.
+     */
+    public boolean walk(boolean showHidden, FolderWalkListener listener) {
+        return walk(root, showHidden, listener);
+    }
+
+    /**
+     * Stop watching the folder, the snapshot is not updated anymore.
+     *
+     * @throws IOException Throws IOException if unable to close the watch service.
+     */
+    @Override
+    public void close() throws IOException {
+        active = false;
+        watchService.close();
+    }
+
+    private boolean walk(Path dir, boolean showHidden, FolderWalkListener listener) {
+        for (Path path : children.getOrDefault(dir, Set.of())) {
+            Entry entry = entries.get(path);
+            if (entry == null || !matches(entry, FolderListType.Any, showHidden)) {
+                continue;
+            }
+
+            if (!listener.visit(path, entry.attrs())) {
+                return false;
+            }
+
+            if (entry.attrs().isDirectory() && !walk(path, showHidden, listener)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean matches(Entry entry, FolderListType type, boolean showHidden) {
+        if (!showHidden && entry.hidden()) {
+            return false;
+        }
+
+        return switch (type) {
+            case File -> !entry.attrs().isDirectory();
+            case Folder -> entry.attrs().isDirectory();
+            case Any -> true;
+        };
+    }
+
+    private void processEvents() {
+        try {
+            while (active) {
+                WatchKey key;
+                try {
+                    key = watchService.take();
+                } catch (InterruptedException e) {
+                    break;
+                }
+
+                Path dir = keys.get(key);
+                if (dir != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        try {
+                            handle(dir, event);
+                        } catch (IOException e) {
+                            recover(dir, e);
+                            break;
+                        }
+                    }
+                }
+
+                if (!key.reset() && dir != null) {
+                    keys.remove(key);
+                    watched.remove(dir, key);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Closed while events were handled.
+        } finally {
+            active = false;
+
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scan the folder again after one of its events failed. If the folder still exists and can not be scanned
+     * the snapshot is not trusted anymore and watching stops with the failure.
+     *
+     * @param dir The folder that its event failed.
+     * @param exc The failure of the event.
+     */
+    private void recover(Path dir, IOException exc) {
+        try {
+            rescan(dir);
+        } catch (IOException e) {
+            if (!dir.equals(root) && !Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+                remove(dir);
+                return;
+            }
+
+            e.addSuppressed(exc);
+            failure = e;
+            active = false;
+        }
+    }
+
+    private void handle(Path dir, WatchEvent<?> event) throws IOException {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            rescan(dir);
+            return;
+        }
+
+        Path path = dir.resolve((Path) event.context());
+
+        if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            remove(path);
+        } else if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE &&
+                Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            put(path, Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS));
+            scan(path);
+        } else if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            put(path, Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS));
+        }
+    }
+
+    /**
+     * Drop everything known under the folder and scan it again.
+     *
+     * @param dir The folder that lost events.
+     * @throws IOException Throws IOException if unable to scan the folder.
+     */
+    private void rescan(Path dir) throws IOException {
+        for (Path child : new ArrayList<>(children.getOrDefault(dir, Set.of()))) {
+            remove(child);
+        }
+
+        scan(dir);
+    }
+
+    private void scan(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                keys.put(key, dir);
+                watched.put(dir, key);
+
+                if (!dir.equals(start)) {
+                    put(dir, attrs);
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                put(file, attrs);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                if (file.equals(start)) {
+                    throw exc;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void put(Path path, BasicFileAttributes attrs) throws IOException {
+        Entry previous = entries.put(path, new Entry(attrs, Files.isHidden(path)));
+        size.addAndGet(sizeOf(attrs) - (previous == null ? 0 : sizeOf(previous.attrs())));
+
+        children.computeIfAbsent(path.getParent(), k -> ConcurrentHashMap.newKeySet()).add(path);
+    }
+
+    private void remove(Path path) {
+        Entry previous = entries.remove(path);
+        if (previous != null) {
+            size.addAndGet(-sizeOf(previous.attrs()));
+        }
+
+        Set<Path> siblings = children.get(path.getParent());
+        if (siblings != null) {
+            siblings.remove(path);
+        }
+
+        Set<Path> content = children.remove(path);
+        if (content != null) {
+            content.forEach(this::remove);
+        }
+
+        WatchKey key = watched.remove(path);
+        if (key != null) {
+            key.cancel();
+            keys.remove(key);
+        }
+    }
+
+    private static long sizeOf(BasicFileAttributes attrs) {
+        return attrs.isDirectory() || attrs.isSymbolicLink() ? 0 : attrs.size();
+    }
+}
@@ -0,0 +1,161 @@
+package org.darkdev5.lib.io;
+
+import lombok.Getter;
+import org.darkdev5.lib.io.option.LockState;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks if files are locked by another process with a non-blocking shared tryLock on a read-only channel.
+ * A probe never renames or writes the file, so it does not change metadata or raise modify events.
+ * Watchers that listen to open and close events still see the file being read.
+ * A file is locked when another process holds an exclusive lock on it, or on Windows has it open without sharing.
+ * Many files can be checked concurrently and a file that does not answer in time is reported as timed out.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class LockProbe {
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+    private static final String SHARING_VIOLATION = "being used by another process";
+
+    private final int parallelism;
+    private final long timeoutMillis;
+
+    public LockProbe() {
+        this(Runtime.getRuntime().availableProcessors(), 1000);
+    }
+
+    /**
+     * @param parallelism   Number of files probed at the same time.
+     * @param timeoutMillis Time that every file has to answer after its probe started.
+     */
+    public LockProbe(int parallelism, long timeoutMillis) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+
+        this.parallelism = parallelism;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Probe a single file on the calling thread without a timeout.
+     * Folders and files that can not be opened for reading are inaccessible.
+     *
+     * @param path The file you want to check.
+     * @return Returns the lock state of the file.
+     */
+    public static LockState probe(Path path) {
+        if (Files.isDirectory(path)) {
+            return LockState.Inaccessible;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            FileLock lock = channel.tryLock(0, Long.MAX_VALUE, true);
+            if (lock == null) {
+                return LockState.Locked;
+            }
+
+            lock.release();
+            return LockState.Unlocked;
+        } catch (NoSuchFileException e) {
+            return LockState.Missing;
+        } catch (OverlappingFileLockException e) {
+            return LockState.Locked;
+        } catch (AccessDeniedException e) {
+            return LockState.Inaccessible;
+        } catch (FileSystemException e) {
+            // Windows refuses to open a file that another process opened without sharing it.
+            if (WINDOWS && e.getReason() != null && e.getReason().contains(SHARING_VIOLATION)) {
+                return LockState.Locked;
+            }
+            return LockState.Inaccessible;
+        } catch (IOException e) {
+            return LockState.Inaccessible;
+        }
+    }
+
+    /**
+     * Probe many files concurrently. A file that timed out does not hold back the rest of the batch,
+     * its thread is interrupted when the batch ends and does not keep the application alive.
+     *
+     * @param paths The files you want to check.
+     * @return Returns the lock state of every file in the same order, a path that is repeated is probed again.
+     * @throws IOException Throws IOException if the batch was interrupted.
+     */
+    public List<LockState> probe(Collection<Path> paths) throws IOException {
+        ExecutorService executor = Executors.newCachedThreadPool(LockProbe::newThread);
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(LockProbe::newThread);
+        Semaphore running = new Semaphore(parallelism);
+
+        List<CompletableFuture<LockState>> futures = new ArrayList<>(paths.size());
+        try {
+            for (Path path : paths) {
+                CompletableFuture<LockState> future = new CompletableFuture<>();
+                futures.add(future);
+
+                running.acquire();
+                executor.execute(() -> {
+                    ScheduledFuture<?> timeout = timer.schedule(() -> finish(future, LockState.TimedOut, running),
+                            timeoutMillis, TimeUnit.MILLISECONDS);
+
+                    finish(future, probe(path), running);
+                    timeout.cancel(false);
+                });
+            }
+
+            List<LockState> states = new ArrayList<>(futures.size());
+            for (CompletableFuture<LockState> future : futures) {
+                states.add(future.get());
+            }
+
+            return states;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Probing locks was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+            timer.shutdownNow();
+        }
+    }
+
+    /**
+     * Complete the probe with the first state that arrives. A probe that timed out gives its slot to the next file
+     * while its thread is still blocked.
+     */
+    private static void finish(CompletableFuture<LockState> future, LockState state, Semaphore running) {
+        if (future.complete(state)) {
+            running.release();
+        }
+    }
+
+    private static Thread newThread(Runnable task) {
+        Thread thread = new Thread(task, "LockProbe");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
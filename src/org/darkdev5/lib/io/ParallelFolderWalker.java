@@ -0,0 +1,168 @@
+package org.darkdev5.lib.io;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Walks a folder tree by fanning out sub folders on a work-stealing pool.
+ * The order of visited paths is not defined and the root folder is not visited.
+ * A folder is visited only after it is opened, so a folder that can not be listed is reported only as failed.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class ParallelFolderWalker {
+    private final boolean showHidden;
+    private final int parallelism;
+
+    public ParallelFolderWalker(boolean showHidden) {
+        this(showHidden, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelFolderWalker(boolean showHidden, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+
+        this.showHidden = showHidden;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Walk the folder and all of its sub folders in parallel.
+     *
+     * @param root The folder you want to walk.
+     * @return Returns a FolderVisitor class object with visited and failed paths.
+     * @throws IOException Throws IOException if root folder can not be read.
+     */
+    public FolderVisitor walk(Path root) throws IOException {
+        Queue<Path> visited = new ConcurrentLinkedQueue<>();
+        Queue<Path> visitedFailed = new ConcurrentLinkedQueue<>();
+
+        walk(root, new FolderWalkListener() {
+            @Override
+            public boolean visit(Path path, BasicFileAttributes attrs) {
+                visited.add(path);
+                return true;
+            }
+
+            @Override
+            public void visitFailed(Path path, IOException exc) {
+                visitedFailed.add(path);
+            }
+        });
+
+        return new FolderVisitor(showHidden, new ArrayList<>(visited), new ArrayList<>(visitedFailed));
+    }
+
+    /**
+     * Walk the folder in parallel and pass every path to the listener as soon as it is found.
+     * The listener is called from several threads at the same time so it must be thread-safe.
+     *
+     * @param root     The folder you want to walk.
+     * @param listener The listener that receives visited and failed paths, it can stop the walk early.
+     * @return Returns true if entire folder walked and false if listener stopped the walk.
+     * @throws IOException Throws IOException if root folder can not be read.
+     */
+    public boolean walk(Path root, FolderWalkListener listener) throws IOException {
+        if (!Files.isDirectory(root)) {
+            throw new IOException("There is no directory in this path.");
+        }
+
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new FolderTask(root, null, listener, stopped));
+        } finally {
+            pool.shutdown();
+        }
+
+        return !stopped.get();
+    }
+
+    private class FolderTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+        private final BasicFileAttributes attrs;
+        private final FolderWalkListener listener;
+        private final AtomicBoolean stopped;
+
+        /**
+         * @param attrs Attributes of the folder that are passed to the listener, or null to not visit the folder.
+         */
+        private FolderTask(Path dir, BasicFileAttributes attrs, FolderWalkListener listener, AtomicBoolean stopped) {
+            this.dir = dir;
+            this.attrs = attrs;
+            this.listener = listener;
+            this.stopped = stopped;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopped.get()) {
+                return;
+            }
+
+            List<FolderTask> subTasks = new ArrayList<>();
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                if (attrs != null && !listener.visit(dir, attrs)) {
+                    stopped.set(true);
+                    return;
+                }
+
+                for (Path entry : stream) {
+                    if (stopped.get()) {
+                        return;
+                    }
+
+                    try {
+                        if (!showHidden && Files.isHidden(entry)) {
+                            continue;
+                        }
+
+                        BasicFileAttributes entryAttrs = Files.readAttributes(entry, BasicFileAttributes.class,
+                                LinkOption.NOFOLLOW_LINKS);
+
+                        if (entryAttrs.isDirectory()) {
+                            subTasks.add(new FolderTask(entry, entryAttrs, listener, stopped));
+                        } else if (!listener.visit(entry, entryAttrs)) {
+                            stopped.set(true);
+                            return;
+                        }
+                    } catch (IOException e) {
+                        listener.visitFailed(entry, e);
+                    }
+                }
+            } catch (IOException e) {
+                listener.visitFailed(dir, e);
+                return;
+            } catch (DirectoryIteratorException e) {
+                listener.visitFailed(dir, e.getCause());
+                return;
+            }
+
+            ForkJoinTask.invokeAll(subTasks);
+        }
+    }
+}
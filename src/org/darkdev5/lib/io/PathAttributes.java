@@ -0,0 +1,128 @@
+package org.darkdev5.lib.io;
+
+import lombok.Getter;
+import org.apache.commons.io.FilenameUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+
+/**
+ * Compact immutable attributes of a file or folder. Times are kept as epoch milliseconds and the size as a primitive,
+ * names and formatted dates are only built when getAttribute() asks for them.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class PathAttributes {
+    private final Path path;
+    private final boolean directory;
+    private final long size;
+    private final long modifiedMillis;
+    private final long createdMillis;
+    private final long accessedMillis;
+    private final String owner;
+    private final String type;
+
+    PathAttributes(Path path, boolean directory, long size, long modifiedMillis, long createdMillis,
+                   long accessedMillis, String owner, String type) {
+        this.path = path;
+        this.directory = directory;
+        this.size = size;
+        this.modifiedMillis = modifiedMillis;
+        this.createdMillis = createdMillis;
+        this.accessedMillis = accessedMillis;
+        this.owner = owner;
+        this.type = type;
+    }
+
+    /**
+     * Read the attributes of a path with a single call. On POSIX file systems the owner comes from the same call.
+     *
+     * @param path       The file or folder.
+     * @param fetchOwner True to also fetch the owner and false to leave it null.
+     * @return Returns the attributes without the content type.
+     * @throws IOException Throws IOException if unable to read the attributes.
+     */
+    static PathAttributes read(Path path, boolean fetchOwner) throws IOException {
+        boolean posix = fetchOwner && path.getFileSystem().supportedFileAttributeViews().contains("posix");
+
+        BasicFileAttributes attrs = posix ?
+                Files.readAttributes(path, PosixFileAttributes.class) :
+                Files.readAttributes(path, BasicFileAttributes.class);
+
+        String owner = null;
+        if (attrs instanceof PosixFileAttributes posixAttrs) {
+            owner = posixAttrs.owner().getName();
+        } else if (fetchOwner) {
+            owner = Files.getOwner(path).getName();
+        }
+
+        return new PathAttributes(path, attrs.isDirectory(), attrs.size(), attrs.lastModifiedTime().toMillis(),
+                attrs.creationTime().toMillis(), attrs.lastAccessTime().toMillis(), owner, null);
+    }
+
+    /**
+     * Copy the attributes with the owner fetched later.
+     *
+     * @param owner The owner name.
+     * @return Returns the new attributes.
+     */
+    PathAttributes withOwner(String owner) {
+        return new PathAttributes(path, directory, size, modifiedMillis, createdMillis, accessedMillis, owner, type);
+    }
+
+    /**
+     * Copy the attributes with the content type detected later.
+     *
+     * @param type The content type.
+     * @return Returns the new attributes.
+     */
+    PathAttributes withType(String type) {
+        return new PathAttributes(path, directory, size, modifiedMillis, createdMillis, accessedMillis, owner, type);
+    }
+
+    /**
+     * Gets an attribute value by the keys that File.getAttribute() and Folder.getAttribute() accept.
+     * Size, baseName, extension and type are only given for files.
+     *
+     * @param key The key you want to search.
+     * @return Returns the attribute value or null if the key is unknown or not fetched.
+     */
+    public Object getAttribute(String key) {
+        return switch (key) {
+            case "name" -> path.getFileName() == null ? path.toString() : path.getFileName().toString();
+            case "baseName" -> directory ? null : FilenameUtils.getBaseName(path.toString());
+            case "extension" -> directory ? null : FilenameUtils.getExtension(path.toString());
+            case "owner" -> owner;
+            case "size" -> directory ? null : size;
+            case "type" -> directory ? null : type;
+            case "parentPath" -> parentOf(path) == null ? path.toString() : parentOf(path).toString();
+            case "parentName" -> parentName();
+            case "modifyDate" -> FileTimeFormat.date(modifiedMillis);
+            case "createDate" -> FileTimeFormat.date(createdMillis);
+            case "accessDate" -> FileTimeFormat.date(accessedMillis);
+            case "modifyTime" -> FileTimeFormat.time(modifiedMillis);
+            case "createTime" -> FileTimeFormat.time(createdMillis);
+            case "accessTime" -> FileTimeFormat.time(accessedMillis);
+            default -> null;
+        };
+    }
+
+    private String parentName() {
+        Path parent = parentOf(path);
+        if (parent == null) {
+            return path.toString();
+        }
+
+        return parent.getFileName() == null ? parent.getRoot().toString() : parent.getFileName().toString();
+    }
+
+    private static Path parentOf(Path path) {
+        return path.getFileName() == null ? null : path.toAbsolutePath().getParent();
+    }
+}
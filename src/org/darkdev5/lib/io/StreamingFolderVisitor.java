@@ -0,0 +1,87 @@
+package org.darkdev5.lib.io;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Passes every visited path to a listener instead of keeping it in memory.
+ * Folders are delivered before their content and the root folder is not delivered.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+class StreamingFolderVisitor extends SimpleFileVisitor<Path> {
+    private final FolderWalkListener listener;
+    private final boolean showHidden;
+
+    private Path root;
+    private @Getter boolean terminated;
+
+    StreamingFolderVisitor(boolean showHidden, FolderWalkListener listener) {
+        this.showHidden = showHidden;
+        this.listener = listener;
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        if (root == null) {
+            root = dir;
+            return FileVisitResult.CONTINUE;
+        }
+
+        try {
+            if (!showHidden && Files.isHidden(dir)) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+        } catch (IOException e) {
+            listener.visitFailed(dir, e);
+            return FileVisitResult.SKIP_SUBTREE;
+        }
+
+        return deliver(dir, attrs);
+    }
+
+    @Override
+    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        try {
+            if (!showHidden && Files.isHidden(file)) {
+                return FileVisitResult.CONTINUE;
+            }
+        } catch (IOException e) {
+            return visitFileFailed(file, e);
+        }
+
+        return deliver(file, attrs);
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+        listener.visitFailed(file, exc);
+        return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+        if (exc != null) {
+            listener.visitFailed(dir, exc);
+        }
+
+        return FileVisitResult.CONTINUE;
+    }
+
+    private FileVisitResult deliver(Path path, BasicFileAttributes attrs) {
+        if (listener.visit(path, attrs)) {
+            return FileVisitResult.CONTINUE;
+        }
+
+        terminated = true;
+        return FileVisitResult.TERMINATE;
+    }
+}
@@ -0,0 +1,107 @@
+package org.darkdev5.lib.io.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking file system operations as CompletableFutures.
+ * Cancelling a future interrupts the thread that runs it, operations stop at their next check.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public final class AsyncTasks {
+    private static volatile Executor defaultExecutor = createDefaultExecutor();
+
+    private AsyncTasks() {
+    }
+
+    /**
+     * Gets the executor that is used when no executor is given.
+     * It runs every task on a virtual thread when the runtime supports them, otherwise on a cached daemon thread.
+     *
+     * @return Returns the default executor.
+     */
+    public static Executor getDefaultExecutor() {
+        return defaultExecutor;
+    }
+
+    /**
+     * Replace the executor that is used when no executor is given.
+     *
+     * @param executor The new default executor.
+     */
+    public static void setDefaultExecutor(Executor executor) {
+        defaultExecutor = executor;
+    }
+
+    /**
+     * Run a task on the executor.
+     *
+     * @param task     The blocking task.
+     * @param executor The executor or null for the default executor.
+     * @param <T>      Type of the task result.
+     * @return Returns a future that interrupts the task when it is cancelled.
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> task, Executor executor) {
+        Object lock = new Object();
+        Thread[] worker = new Thread[1];
+
+        CompletableFuture<T> future = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+                synchronized (lock) {
+                    if (cancelled && worker[0] != null) {
+                        worker[0].interrupt();
+                    }
+                }
+                return cancelled;
+            }
+        };
+
+        (executor == null ? defaultExecutor : executor).execute(() -> {
+            synchronized (lock) {
+                if (future.isDone()) {
+                    return;
+                }
+                worker[0] = Thread.currentThread();
+            }
+
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                synchronized (lock) {
+                    worker[0] = null;
+                }
+                Thread.interrupted();
+            }
+        });
+
+        return future;
+    }
+
+    private static Executor createDefaultExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "AsyncTasks-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.darkdev5.lib.io.async;
+
+/**
+ * Receives progress of a long file system operation.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /**
+     * Called every time the operation makes progress.
+     *
+     * @param done  Number of items that are processed.
+     * @param total Total number of items or -1 if it is not known.
+     */
+    void progress(long done, long total);
+}
@@ -3,12 +3,18 @@ package org.darkdev5.lib.io.copy;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.commons.io.FileUtils;
+import org.darkdev5.lib.io.async.AsyncTasks;
+import org.darkdev5.lib.io.async.ProgressListener;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * @author darkDev5
@@ -22,6 +28,17 @@ public @Getter class Copier {
     private @Setter boolean replace;
     private @Setter boolean deleteSource;
 
+    private @Setter int parallelism;
+    private @Setter boolean zeroCopy;
+    private @Setter String journal;
+
+    private @Setter boolean sync;
+    private @Setter boolean prune;
+    private @Setter boolean compareContent;
+
+    private @Setter ProgressListener progressListener;
+    private final CopyMetrics metrics;
+
     private final List<String> successfulCopy;
     private final List<String> failedCopy;
 
@@ -32,60 +49,138 @@ public @Getter class Copier {
         this.replace = true;
         this.deleteSource = false;
 
-        successfulCopy = new ArrayList<>();
-        failedCopy = new ArrayList<>();
+        this.parallelism = 1;
+        this.zeroCopy = false;
+
+        successfulCopy = Collections.synchronizedList(new ArrayList<>());
+        failedCopy = Collections.synchronizedList(new ArrayList<>());
+
+        metrics = new CopyMetrics();
     }
 
     /**
      * Start copy of files to destination folder.
+     * If parallelism is more than 1, sources and files inside folder sources are copied on several threads.
+     * If zeroCopy is set, file content is copied inside the kernel without heap buffers.
+     * If journal is set, progress is saved to that file and a copy that was interrupted continues from it.
+     * If sync is set, only new or changed files are copied and prune deletes files that are not in source anymore.
+     * If deleteSource is set, sources on the same device as destination are renamed instead of copied.
+     * Folder sources are walked file by file, so every copied file is counted in metrics.
      * @return True if copy was successful and false if an error detected.
      */
     public boolean copy() {
-        String objectName = null, destinationPath = null;
+        metrics.reset();
+
+        if (parallelism > 1 || zeroCopy || journal != null || sync || deleteSource || hasFolderSource()) {
+            try {
+                new ParallelCopyEngine(this).copy();
+            } catch (IOException e) {
+                e.printStackTrace();
+                failedCopy.addAll(sources);
+            }
+            return true;
+        }
+
+        String destinationPath = null;
+        long done = 0;
         for (String str : sources) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            report(done++, sources.size());
+
             Path pth = Path.of(str);
+            long sourceStart = System.nanoTime();
 
             if (Files.exists(pth)) {
-                objectName = pth.getFileName().toString();
-                if (destination.endsWith("\\")) {
-                    destinationPath = destination + objectName;
-                } else {
-                    destinationPath = destination + "\\" + objectName;
-                }
+                destinationPath = destinationOf(pth).toString();
 
                 if (Files.exists(Path.of(destinationPath)) && !replace)  {
                     continue;
                 }
 
-                if (Files.isDirectory(pth)) {
-                    try {
-                        FileUtils.copyDirectory(new File(str), new File(destinationPath));
-                        successfulCopy.add(str);
-
-                        if (deleteSource) {
-                            FileUtils.deleteDirectory(new File(str));
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                        failedCopy.add(str);
-                    }
-                } else {
-                    try {
-                        FileUtils.copyFile(new File(str), new File(destinationPath));
-                        successfulCopy.add(str);
-
-                        if (deleteSource) {
-                            FileUtils.delete(new File(str));
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                        failedCopy.add(str);
-                    }
+                metrics.fileStarted();
+                try {
+                    long size = Files.size(pth);
+                    metrics.fileDiscovered(size);
+
+                    FileUtils.copyFile(new File(str), new File(destinationPath));
+                    metrics.fileCopied(size, sourceStart);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    failedCopy.add(str);
+                    metrics.fileFailed();
+                    metrics.sourceFinished(false, sourceStart);
+                    continue;
                 }
+
+                successfulCopy.add(str);
+                metrics.sourceFinished(true, sourceStart);
             } else {
                 failedCopy.add(str);
+                metrics.sourceFinished(false, sourceStart);
             }
         }
+        report(done, sources.size());
         return true;
     }
+
+    /**
+     * Start copy of files without blocking the calling thread.
+     *
+     * @return Returns a future of copy() result, cancelling it stops copying the remaining files.
+     */
+    public CompletableFuture<Boolean> copyAsync() {
+        return copyAsync(null);
+    }
+
+    /**
+     * Start copy of files without blocking the calling thread.
+     * Progress is passed to progressListener as number of processed sources.
+     *
+     * @param executor The executor that runs the operation or null for the default executor.
+     * @return Returns a future of copy() result, cancelling it stops copying the remaining files.
+     */
+    public CompletableFuture<Boolean> copyAsync(Executor executor) {
+        return AsyncTasks.supply(this::copy, executor);
+    }
+
+    private boolean hasFolderSource() {
+        for (String str : sources) {
+            if (Files.isDirectory(Path.of(str))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void report(long done, long total) {
+        if (progressListener != null) {
+            progressListener.progress(done, total);
+        }
+    }
+
+    /**
+     * Gets the path that a source is copied to.
+     *
+     * @param source The source file or folder.
+     * @return Returns the path inside destination folder with the source name.
+     */
+    Path destinationOf(Path source) {
+        return Path.of(destination).resolve(source.getFileName().toString());
+    }
+
+    /**
+     * Delete a source after it is copied.
+     *
+     * @param source The source file or folder.
+     * @throws IOException Throws IOException if unable to delete the source.
+     */
+    static void deleteSource(Path source) throws IOException {
+        if (Files.isDirectory(source)) {
+            FileUtils.deleteDirectory(source.toFile());
+        } else {
+            FileUtils.delete(source.toFile());
+        }
+    }
 }
@@ -0,0 +1,195 @@
+package org.darkdev5.lib.io.copy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only checkpoint file of a copy job so an interrupted job can continue where it stopped.
+ * It records started sources, completed files and the byte offset reached inside partially copied files.
+ * An offset is recorded only after the copied bytes are forced to the disk.
+ * Every file record keeps the source size and modified time, a source that changed since is copied from the start.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+class CopyJournal implements Closeable {
+    private static final int MAGIC = 0x434A5632;
+
+    private static final byte SOURCE_STARTED = 'S';
+    private static final byte FILE_PARTIAL = 'P';
+    private static final byte FILE_COMPLETED = 'C';
+
+    private static final long COMPLETED = -1;
+
+    private final Path file;
+    private final DataOutputStream out;
+
+    private final Set<String> startedSources;
+    private final Map<String, FileState> files;
+
+    private record FileState(long offset, long size, long modified) {
+        private boolean isSame(long size, long modified) {
+            return this.size == size && this.modified == modified;
+        }
+    }
+
+    private CopyJournal(Path file) throws IOException {
+        this.file = file;
+        this.startedSources = ConcurrentHashMap.newKeySet();
+        this.files = new ConcurrentHashMap<>();
+
+        long valid = Files.exists(file) ? load() : 0;
+
+        OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.out = new DataOutputStream(new BufferedOutputStream(stream));
+
+        if (valid == 0) {
+            out.writeInt(MAGIC);
+            out.flush();
+        }
+    }
+
+    /**
+     * Open a journal file and load its records, the file is created if it does not exist.
+     *
+     * @param file The journal file.
+     * @return Returns the opened journal.
+     * @throws IOException Throws IOException if unable to read or create the file.
+     */
+    static CopyJournal open(Path file) throws IOException {
+        return new CopyJournal(file);
+    }
+
+    boolean isStarted(Path source) {
+        return startedSources.contains(key(source));
+    }
+
+    /**
+     * Check if a file is completed and its source did not change since.
+     *
+     * @param source   The source file.
+     * @param size     The current size of the source.
+     * @param modified The current modified time of the source in milliseconds.
+     * @return Returns true if the file is completed with the same size and modified time.
+     */
+    boolean isCompleted(Path source, long size, long modified) {
+        FileState state = files.get(key(source));
+        return state != null && state.offset() == COMPLETED && state.isSame(size, modified);
+    }
+
+    /**
+     * Gets the offset that is safely copied for a file.
+     *
+     * @param source   The source file.
+     * @param size     The current size of the source.
+     * @param modified The current modified time of the source in milliseconds.
+     * @return Returns the offset or 0 if nothing is recorded or the source changed since.
+     */
+    long offsetOf(Path source, long size, long modified) {
+        FileState state = files.get(key(source));
+        return state == null || !state.isSame(size, modified) ? 0 : Math.max(0, state.offset());
+    }
+
+    void started(Path source) throws IOException {
+        if (startedSources.add(key(source))) {
+            write(SOURCE_STARTED, new FileState(0, 0, 0), source);
+        }
+    }
+
+    void partial(Path source, long offset, long size, long modified) throws IOException {
+        FileState state = new FileState(offset, size, modified);
+        files.put(key(source), state);
+        write(FILE_PARTIAL, state, source);
+    }
+
+    void completed(Path source, long size, long modified) throws IOException {
+        FileState state = new FileState(COMPLETED, size, modified);
+        files.put(key(source), state);
+        write(FILE_COMPLETED, state, source);
+    }
+
+    /**
+     * Close and remove the journal, used when the whole job succeeded.
+     *
+     * @throws IOException Throws IOException if unable to delete the file.
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private synchronized void write(byte type, FileState state, Path source) throws IOException {
+        byte[] name = key(source).getBytes(StandardCharsets.UTF_8);
+
+        out.writeByte(type);
+        out.writeLong(state.offset());
+        out.writeLong(state.size());
+        out.writeLong(state.modified());
+        out.writeShort(name.length);
+        out.write(name);
+        out.flush();
+    }
+
+    /**
+     * Load the records and cut a record that was partly written. A file without the journal header,
+     * like a journal of an older version, is emptied and every file is copied again.
+     *
+     * @return Returns the length of the valid part of the file.
+     */
+    private long load() throws IOException {
+        long valid = 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() == MAGIC) {
+                valid = 4;
+
+                while (true) {
+                    byte type = in.readByte();
+                    FileState state = new FileState(in.readLong(), in.readLong(), in.readLong());
+                    byte[] name = new byte[in.readUnsignedShort()];
+                    in.readFully(name);
+
+                    String source = new String(name, StandardCharsets.UTF_8);
+                    valid += 27 + name.length;
+
+                    switch (type) {
+                        case SOURCE_STARTED -> startedSources.add(source);
+                        case FILE_PARTIAL, FILE_COMPLETED -> files.put(source, state);
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            // a record that was cut by a crash is ignored, its work is done again
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(valid);
+        }
+
+        return valid;
+    }
+
+    private static String key(Path source) {
+        return source.toAbsolutePath().normalize().toString();
+    }
+}
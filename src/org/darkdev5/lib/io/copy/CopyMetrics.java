@@ -0,0 +1,133 @@
+package org.darkdev5.lib.io.copy;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Counters of a Copier run. Counters are LongAdders so copy threads never contend on them.
+ * Poll snapshot() at any time or add a listener that receives a snapshot whenever a source finishes.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public class CopyMetrics {
+    private final LongAdder bytesDiscovered;
+    private final LongAdder bytesCopied;
+    private final LongAdder filesCopied;
+    private final LongAdder filesSkipped;
+    private final LongAdder filesFailed;
+    private final LongAdder sourcesCompleted;
+    private final LongAdder sourcesFailed;
+    private final LongAdder inFlight;
+
+    private final @Getter LatencyHistogram fileLatency;
+    private final @Getter LatencyHistogram sourceLatency;
+
+    private final List<Consumer<CopyMetricsSnapshot>> listeners;
+
+    private volatile long startTime;
+
+    public CopyMetrics() {
+        bytesDiscovered = new LongAdder();
+        bytesCopied = new LongAdder();
+        filesCopied = new LongAdder();
+        filesSkipped = new LongAdder();
+        filesFailed = new LongAdder();
+        sourcesCompleted = new LongAdder();
+        sourcesFailed = new LongAdder();
+        inFlight = new LongAdder();
+
+        fileLatency = new LatencyHistogram();
+        sourceLatency = new LatencyHistogram();
+
+        listeners = new CopyOnWriteArrayList<>();
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Add a listener that receives a snapshot every time a source is finished.
+     *
+     * @param listener The listener, it is called from copy threads.
+     */
+    public void addListener(Consumer<CopyMetricsSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<CopyMetricsSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Take a consistent enough view of the counters, counters that change while reading may be off by a few.
+     *
+     * @return Returns the snapshot of the current run.
+     */
+    public CopyMetricsSnapshot snapshot() {
+        return new CopyMetricsSnapshot(System.nanoTime() - startTime, bytesDiscovered.sum(), bytesCopied.sum(),
+                filesCopied.sum(), filesSkipped.sum(), filesFailed.sum(), sourcesCompleted.sum(),
+                sourcesFailed.sum(), inFlight.sum());
+    }
+
+    void reset() {
+        bytesDiscovered.reset();
+        bytesCopied.reset();
+        filesCopied.reset();
+        filesSkipped.reset();
+        filesFailed.reset();
+        sourcesCompleted.reset();
+        sourcesFailed.reset();
+        inFlight.reset();
+
+        fileLatency.reset();
+        sourceLatency.reset();
+
+        startTime = System.nanoTime();
+    }
+
+    void fileDiscovered(long bytes) {
+        bytesDiscovered.add(bytes);
+    }
+
+    void fileStarted() {
+        inFlight.increment();
+    }
+
+    void fileCopied(long bytes, long startNanos) {
+        inFlight.decrement();
+        bytesCopied.add(bytes);
+        filesCopied.increment();
+        fileLatency.record(System.nanoTime() - startNanos);
+    }
+
+    void fileFailed() {
+        inFlight.decrement();
+        filesFailed.increment();
+    }
+
+    /**
+     * A file that sync found up to date is not copied, so its bytes are taken out of the discovered bytes.
+     */
+    void fileSkipped(long bytes) {
+        bytesDiscovered.add(-bytes);
+        filesSkipped.increment();
+    }
+
+    void sourceFinished(boolean successful, long startNanos) {
+        if (successful) {
+            sourcesCompleted.increment();
+        } else {
+            sourcesFailed.increment();
+        }
+        sourceLatency.record(System.nanoTime() - startNanos);
+
+        if (!listeners.isEmpty()) {
+            CopyMetricsSnapshot snapshot = snapshot();
+            listeners.forEach(listener -> listener.accept(snapshot));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.darkdev5.lib.io.copy;
+
+import lombok.Getter;
+
+/**
+ * Immutable view of CopyMetrics at one moment.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class CopyMetricsSnapshot {
+    private final long elapsedNanos;
+    private final long bytesDiscovered;
+    private final long bytesCopied;
+    private final long filesCopied;
+    private final long filesSkipped;
+    private final long filesFailed;
+    private final long sourcesCompleted;
+    private final long sourcesFailed;
+    private final long inFlight;
+
+    CopyMetricsSnapshot(long elapsedNanos, long bytesDiscovered, long bytesCopied, long filesCopied,
+                        long filesSkipped, long filesFailed, long sourcesCompleted, long sourcesFailed,
+                        long inFlight) {
+        this.elapsedNanos = elapsedNanos;
+        this.bytesDiscovered = bytesDiscovered;
+        this.bytesCopied = bytesCopied;
+        this.filesCopied = filesCopied;
+        this.filesSkipped = filesSkipped;
+        this.filesFailed = filesFailed;
+        this.sourcesCompleted = sourcesCompleted;
+        this.sourcesFailed = sourcesFailed;
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * Gets the average copy speed of the run.
+     *
+     * @return Returns copied bytes per second.
+     */
+    public double getBytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytesCopied * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the average number of files copied per second.
+     *
+     * @return Returns copied files per second.
+     */
+    public double getFilesPerSecond() {
+        return elapsedNanos == 0 ? 0 : filesCopied * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Estimate the remaining time from the bytes found so far and the average speed.
+     * While folders are still walked it is a lower bound.
+     *
+     * @return Returns the remaining nanoseconds or -1 if nothing is copied yet.
+     */
+    public long getEtaNanos() {
+        double speed = getBytesPerSecond();
+        if (speed == 0) {
+            return -1;
+        }
+
+        return (long) (Math.max(0, bytesDiscovered - bytesCopied) / speed * 1e9);
+    }
+}
@@ -0,0 +1,59 @@
+package org.darkdev5.lib.io.copy;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits how many files are copied to the same device at the same time.
+ * Limits are shared by every Copier, so two copiers that write to one disk share its limit.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public final class DeviceLimits {
+    private static final Map<FileStore, Semaphore> LIMITS = new ConcurrentHashMap<>();
+
+    private DeviceLimits() {
+    }
+
+    /**
+     * Set maximum number of concurrent file copies for the device that contains the path.
+     *
+     * @param path        Any existing path on the device.
+     * @param concurrency Maximum number of files written to the device at the same time.
+     * @throws IOException Throws IOException if unable to find the device of the path.
+     */
+    public static void setLimit(Path path, int concurrency) throws IOException {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1.");
+        }
+
+        LIMITS.put(Files.getFileStore(path), new Semaphore(concurrency));
+    }
+
+    /**
+     * Remove the limit of the device that contains the path.
+     *
+     * @param path Any existing path on the device.
+     * @throws IOException Throws IOException if unable to find the device of the path.
+     */
+    public static void removeLimit(Path path) throws IOException {
+        LIMITS.remove(Files.getFileStore(path));
+    }
+
+    /**
+     * Gets the limit of a device.
+     *
+     * @param store The device.
+     * @return Returns the semaphore of the device or null if it has no limit.
+     */
+    static Semaphore get(FileStore store) {
+        return LIMITS.get(store);
+    }
+}
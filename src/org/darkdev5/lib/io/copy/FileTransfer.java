@@ -0,0 +1,96 @@
+package org.darkdev5.lib.io.copy;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Copies file content inside the kernel with FileChannel.transferTo instead of heap buffers.
+ * On Linux the JDK serves transferTo between files with sendfile or copy_file_range.
+ * If the kernel refuses to transfer, the rest of the file is copied through memory-mapped chunks.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public final class FileTransfer {
+    private static final long TRANSFER_CHUNK = 64L * 1024 * 1024;
+    private static final long MAP_CHUNK = 16L * 1024 * 1024;
+
+    private FileTransfer() {
+    }
+
+    /**
+     * Copy a file and its last modified time to the target, target is replaced if it exists.
+     *
+     * @param source The file you want to copy.
+     * @param target The path of the new file.
+     * @return Returns the number of bytes copied.
+     * @throws IOException Throws IOException if unable to read the source or write the target.
+     */
+    public static long copy(Path source, Path target) throws IOException {
+        long copied;
+
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            copied = transfer(in, out, 0, in.size());
+        }
+
+        Files.setLastModifiedTime(target, Files.getLastModifiedTime(source));
+        return copied;
+    }
+
+    /**
+     * Copy a range of the input channel to the same position of the output channel.
+     * Partial transfers are continued until the whole range is copied.
+     *
+     * @param in       The channel to read from.
+     * @param out      The channel to write to.
+     * @param position The first byte of the range.
+     * @param end      The end of the range, exclusive.
+     * @return Returns the number of bytes copied.
+     * @throws IOException Throws IOException if unable to read or write the channels.
+     */
+    static long transfer(FileChannel in, FileChannel out, long position, long end) throws IOException {
+        long start = position;
+        out.position(position);
+
+        while (position < end) {
+            long count;
+            try {
+                count = in.transferTo(position, Math.min(TRANSFER_CHUNK, end - position), out);
+            } catch (IOException e) {
+                count = 0;
+            }
+
+            if (count <= 0) {
+                return position - start + mappedCopy(in, out, position, end);
+            }
+
+            position += count;
+        }
+
+        return position - start;
+    }
+
+    private static long mappedCopy(FileChannel in, FileChannel out, long position, long end) throws IOException {
+        long start = position;
+
+        while (position < end) {
+            long size = Math.min(MAP_CHUNK, end - position);
+            MappedByteBuffer chunk = in.map(FileChannel.MapMode.READ_ONLY, position, size);
+
+            while (chunk.hasRemaining()) {
+                out.write(chunk, position + chunk.position());
+            }
+
+            position += size;
+        }
+
+        return position - start;
+    }
+}
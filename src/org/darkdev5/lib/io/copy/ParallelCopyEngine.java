@@ -0,0 +1,491 @@
+package org.darkdev5.lib.io.copy;
+
+import lombok.Getter;
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileStore;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copies sources of a Copier and the files inside folder sources on several threads.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+class ParallelCopyEngine {
+    private static final long CHECKPOINT_CHUNK = 64L * 1024 * 1024;
+
+    private final Copier copier;
+    private final FileStore destinationStore;
+    private final Semaphore deviceLimit;
+    private final CopyJournal journal;
+    private final AtomicBoolean failed;
+    private final CopyMetrics metrics;
+
+    ParallelCopyEngine(Copier copier) throws IOException {
+        this.copier = copier;
+
+        Path destination = Path.of(copier.getDestination());
+        Files.createDirectories(destination);
+
+        this.destinationStore = Files.getFileStore(destination);
+        this.deviceLimit = DeviceLimits.get(destinationStore);
+
+        this.journal = copier.getJournal() == null ? null : CopyJournal.open(Path.of(copier.getJournal()));
+        this.failed = new AtomicBoolean();
+        this.metrics = copier.getMetrics();
+    }
+
+    /**
+     * Copy every source, a source is successful only when all of its files are copied.
+     */
+    void copy() {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, copier.getParallelism()));
+        List<CompletableFuture<Void>> sources = new ArrayList<>();
+
+        long total = copier.getSources().size();
+        AtomicLong done = new AtomicLong();
+
+        try {
+            for (String str : copier.getSources()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+
+                Path source = Path.of(str);
+                long sourceStart = System.nanoTime();
+
+                if (!Files.exists(source)) {
+                    copier.getFailedCopy().add(str);
+                    metrics.sourceFinished(false, sourceStart);
+                    copier.report(done.incrementAndGet(), total);
+                    continue;
+                }
+
+                Path target = copier.destinationOf(source);
+                if (Files.exists(target) && !copier.isReplace() && !copier.isSync() &&
+                        (journal == null || !journal.isStarted(source))) {
+                    copier.report(done.incrementAndGet(), total);
+                    continue;
+                }
+
+                if (copier.isDeleteSource() && journal == null && move(source, target)) {
+                    copier.getSuccessfulCopy().add(str);
+                    metrics.sourceFinished(true, sourceStart);
+                    copier.report(done.incrementAndGet(), total);
+                    continue;
+                }
+
+                CompletableFuture<Void> future;
+                try {
+                    if (journal != null) {
+                        journal.started(source);
+                    }
+
+                    if (Files.isDirectory(source)) {
+                        future = copyDirectory(source, target, executor);
+                        if (copier.isSync() && copier.isPrune()) {
+                            future = future.thenRunAsync(() -> prune(source, target), executor);
+                        }
+                    } else {
+                        future = CompletableFuture.runAsync(() -> syncFile(source, target, null), executor);
+                    }
+                } catch (Exception e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+
+                sources.add(future.handle((v, e) -> {
+                    Throwable error = e;
+                    if (error == null && copier.isDeleteSource()) {
+                        try {
+                            Copier.deleteSource(source);
+                        } catch (IOException ex) {
+                            error = ex;
+                        }
+                    }
+
+                    metrics.sourceFinished(error == null, sourceStart);
+                    copier.report(done.incrementAndGet(), total);
+
+                    if (error != null) {
+                        error.printStackTrace();
+                        failed.set(true);
+                        copier.getFailedCopy().add(str);
+                        return null;
+                    }
+
+                    copier.getSuccessfulCopy().add(str);
+                    return null;
+                }));
+            }
+
+            CompletableFuture.allOf(sources.toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            failed.set(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        } finally {
+            executor.shutdown();
+            closeJournal();
+        }
+    }
+
+    /**
+     * Move a source with a rename when it is on the same device as the destination.
+     *
+     * @return Returns true if source is moved and false if it must be copied and deleted.
+     */
+    private boolean move(Path source, Path target) {
+        try {
+            if (!Files.getFileStore(source).equals(destinationStore)) {
+                return false;
+            }
+
+            if (Files.exists(target, LinkOption.NOFOLLOW_LINKS) && (!copier.isReplace() || Files.isDirectory(target))) {
+                return false;
+            }
+
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Remove the journal when every source is copied, otherwise keep it for the next run.
+     */
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            if (failed.get()) {
+                journal.close();
+            } else {
+                journal.delete();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Create the folder tree on the calling thread and submit its files to the executor while walking.
+     * Only a bounded number of files wait in the executor, so memory does not grow with the tree.
+     * Paths that fail are added to the error of the source and the rest of the tree is still copied,
+     * the returned future completes only after every submitted file is finished.
+     */
+    private CompletableFuture<Void> copyDirectory(Path source, Path target, ExecutorService executor) {
+        TaskGroup files = new TaskGroup(executor, Math.max(1, copier.getParallelism()) * 16);
+
+        try {
+            Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Copy is cancelled.");
+                    }
+
+                    try {
+                        Files.createDirectories(target.resolve(source.relativize(dir)));
+                    } catch (IOException e) {
+                        files.fail(e);
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Copy is cancelled.");
+                    }
+
+                    Path to = target.resolve(source.relativize(file));
+                    metrics.fileDiscovered(attrs.size());
+                    files.submit(() -> syncFile(file, to, attrs));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    files.fail(exc);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                    if (exc != null) {
+                        files.fail(exc);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            files.fail(e);
+        } finally {
+            files.seal();
+        }
+
+        return files.getDone();
+    }
+
+    /**
+     * Copy a file unless sync mode finds that the target is already up to date.
+     */
+    private void syncFile(Path source, Path target, BasicFileAttributes attrs) {
+        try {
+            if (attrs == null) {
+                attrs = Files.readAttributes(source, BasicFileAttributes.class);
+                metrics.fileDiscovered(attrs.size());
+            }
+
+            if (copier.isSync() && !isChanged(source, target, attrs)) {
+                metrics.fileSkipped(attrs.size());
+                return;
+            }
+        } catch (IOException e) {
+            metrics.fileStarted();
+            metrics.fileFailed();
+            throw new UncheckedIOException(e);
+        }
+
+        long start = System.nanoTime();
+        metrics.fileStarted();
+        try {
+            copyFile(source, target);
+            metrics.fileCopied(attrs.size(), start);
+        } catch (RuntimeException e) {
+            metrics.fileFailed();
+            throw e;
+        }
+    }
+
+    /**
+     * Compare a source file with its target by size and modified time, or byte by byte if compareContent is set.
+     *
+     * @throws FileAlreadyExistsException Throws FileAlreadyExistsException if target is a folder.
+     */
+    private boolean isChanged(Path source, Path target, BasicFileAttributes attrs) throws IOException {
+        BasicFileAttributes existing;
+        try {
+            existing = Files.readAttributes(target, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return true;
+        }
+
+        if (existing.isDirectory()) {
+            throw new FileAlreadyExistsException(source.toString(), target.toString(),
+                    "Target is a folder and the source is a file.");
+        }
+
+        if (existing.size() != attrs.size()) {
+            return true;
+        }
+
+        boolean sameTime = existing.lastModifiedTime().toMillis() == attrs.lastModifiedTime().toMillis();
+        if (!copier.isCompareContent()) {
+            return !sameTime;
+        }
+
+        if (Files.mismatch(source, target) != -1) {
+            return true;
+        }
+
+        if (!sameTime) {
+            Files.setLastModifiedTime(target, attrs.lastModifiedTime());
+        }
+        return false;
+    }
+
+    /**
+     * Delete files and folders inside target that do not exist in source anymore.
+     */
+    private void prune(Path source, Path target) {
+        try {
+            Files.walkFileTree(target, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!dir.equals(target) && isRemoved(dir)) {
+                        FileUtils.deleteDirectory(dir.toFile());
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (isRemoved(file)) {
+                        Files.delete(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                private boolean isRemoved(Path path) {
+                    return !Files.exists(source.resolve(target.relativize(path).toString()), LinkOption.NOFOLLOW_LINKS);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void copyFile(Path source, Path target) {
+        try {
+            if (deviceLimit != null) {
+                deviceLimit.acquire();
+            }
+
+            try {
+                if (journal != null) {
+                    resumableCopy(source, target);
+                } else if (copier.isZeroCopy()) {
+                    FileTransfer.copy(source, target);
+                } else {
+                    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            } finally {
+                if (deviceLimit != null) {
+                    deviceLimit.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Copy a file in chunks and record the offset after every chunk that is forced to the disk.
+     * A file that the journal has as completed is skipped, a partial file continues from its last offset.
+     * Both only hold while the source has the size and modified time that the journal recorded.
+     */
+    private void resumableCopy(Path source, Path target) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+        long size = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+
+        if (journal.isCompleted(source, size, modified) && Files.exists(target) && Files.size(target) == size) {
+            return;
+        }
+
+        long offset = journal.offsetOf(source, size, modified);
+        if (offset > 0 && (!Files.exists(target) || Files.size(target) < offset)) {
+            offset = 0;
+        }
+
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            while (offset < size) {
+                long end = Math.min(size, offset + CHECKPOINT_CHUNK);
+                FileTransfer.transfer(in, out, offset, end);
+                out.force(false);
+
+                offset = end;
+                if (offset < size) {
+                    journal.partial(source, offset, size, modified);
+                }
+            }
+
+            out.truncate(size);
+        }
+
+        Files.setLastModifiedTime(target, attrs.lastModifiedTime());
+        journal.completed(source, size, modified);
+    }
+
+    /**
+     * Runs tasks of one source on the executor and completes when all of them finished.
+     * It fails with the first error, later errors are suppressed in it, but lets the other tasks finish.
+     */
+    private static class TaskGroup {
+        private final ExecutorService executor;
+        private final Semaphore inFlight;
+
+        private final AtomicInteger pending;
+        private final AtomicReference<Throwable> error;
+        private final @Getter CompletableFuture<Void> done;
+
+        private TaskGroup(ExecutorService executor, int maxInFlight) {
+            this.executor = executor;
+            this.inFlight = new Semaphore(maxInFlight);
+
+            this.pending = new AtomicInteger(1);
+            this.error = new AtomicReference<>();
+            this.done = new CompletableFuture<>();
+        }
+
+        private void submit(Runnable task) {
+            inFlight.acquireUninterruptibly();
+            pending.incrementAndGet();
+
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    fail(e);
+                } finally {
+                    inFlight.release();
+                    arrive();
+                }
+            });
+        }
+
+        private void fail(Throwable e) {
+            if (!error.compareAndSet(null, e)) {
+                error.get().addSuppressed(e);
+            }
+        }
+
+        private void seal() {
+            arrive();
+        }
+
+        private void arrive() {
+            if (pending.decrementAndGet() == 0) {
+                if (error.get() == null) {
+                    done.complete(null);
+                } else {
+                    done.completeExceptionally(error.get());
+                }
+            }
+        }
+    }
+}
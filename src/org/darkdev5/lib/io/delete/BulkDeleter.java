@@ -0,0 +1,238 @@
+package org.darkdev5.lib.io.delete;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.darkdev5.lib.io.async.ProgressListener;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes folder trees on a work-stealing pool. Files are unlinked in parallel batches and a folder is removed
+ * once all of its children are gone. A path that fails is recorded and the rest of the tree is still deleted,
+ * only the folders above it are kept.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class BulkDeleter {
+    private static final int FILE_BATCH = 256;
+
+    private final int parallelism;
+    private @Setter ProgressListener progressListener;
+
+    public BulkDeleter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BulkDeleter(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Delete a folder and everything inside it. Interrupting the calling thread stops deleting.
+     * Like FileUtils.deleteDirectory, a missing root counts as deleted and a symbolic link root is deleted
+     * without touching its target. When only the content is deleted, a symbolic link root is followed.
+     *
+     * @param root       The folder you want to delete.
+     * @param deleteRoot True to also delete the folder itself and false to only make it empty.
+     * @return Returns counts, throughput and failed paths of the run.
+     * @throws IOException Throws IOException if root exists and is not a folder.
+     */
+    public DeleteResult delete(Path root, boolean deleteRoot) throws IOException {
+        Run run = new Run();
+        long start = System.nanoTime();
+
+        if (deleteRoot && Files.isSymbolicLink(root)) {
+            Files.delete(root);
+            run.deleted(run.files, 0);
+        } else if (Files.exists(root, LinkOption.NOFOLLOW_LINKS)) {
+            if (!Files.isDirectory(root)) {
+                throw new IOException("There is no directory in this path.");
+            }
+
+            deleteTree(root, deleteRoot, run);
+        }
+
+        return new DeleteResult(run.files.sum(), run.folders.sum(), run.bytes.sum(), System.nanoTime() - start,
+                !run.stopped.get(), run.failures);
+    }
+
+    private void deleteTree(Path root, boolean deleteRoot, Run run) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(new FolderTask(root, deleteRoot, run)).get();
+        } catch (InterruptedException e) {
+            run.stopped.set(true);
+            pool.shutdownNow();
+
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                // Interrupted again, do not wait for the deletes that are still running.
+            }
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            run.stopped.set(true);
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private class Run {
+        private final LongAdder files = new LongAdder();
+        private final LongAdder folders = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final Map<Path, IOException> failures = new ConcurrentHashMap<>();
+
+        private void deleted(LongAdder counter, long size) {
+            counter.increment();
+            bytes.add(size);
+
+            ProgressListener listener = progressListener;
+            if (listener != null) {
+                listener.progress(files.sum() + folders.sum(), -1);
+            }
+        }
+    }
+
+    private record FileEntry(Path path, long size) {
+    }
+
+    private class FolderTask extends RecursiveTask<Boolean> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+        private final boolean deleteSelf;
+        private final Run run;
+
+        private FolderTask(Path dir, boolean deleteSelf, Run run) {
+            this.dir = dir;
+            this.deleteSelf = deleteSelf;
+            this.run = run;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (run.stopped.get()) {
+                return false;
+            }
+
+            List<FileEntry> files = new ArrayList<>();
+            List<RecursiveTask<Boolean>> subTasks = new ArrayList<>();
+            boolean clean = true;
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path entry : stream) {
+                    try {
+                        BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class,
+                                LinkOption.NOFOLLOW_LINKS);
+
+                        if (attrs.isDirectory()) {
+                            subTasks.add(new FolderTask(entry, true, run));
+                        } else {
+                            files.add(new FileEntry(entry, attrs.size()));
+                        }
+                    } catch (IOException e) {
+                        run.failures.put(entry, e);
+                        clean = false;
+                    }
+                }
+            } catch (IOException e) {
+                run.failures.put(dir, e);
+                return false;
+            } catch (DirectoryIteratorException e) {
+                run.failures.put(dir, e.getCause());
+                clean = false;
+            }
+
+            for (int i = FILE_BATCH; i < files.size(); i += FILE_BATCH) {
+                subTasks.add(new FileBatchTask(files.subList(i, Math.min(i + FILE_BATCH, files.size())), run));
+            }
+
+            for (RecursiveTask<Boolean> task : ForkJoinTask.invokeAll(subTasks)) {
+                clean &= task.join();
+            }
+            clean &= deleteFiles(files.subList(0, Math.min(FILE_BATCH, files.size())), run);
+
+            if (!clean || run.stopped.get()) {
+                return false;
+            }
+
+            if (deleteSelf) {
+                try {
+                    Files.delete(dir);
+                    run.deleted(run.folders, 0);
+                } catch (IOException e) {
+                    run.failures.put(dir, e);
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    private class FileBatchTask extends RecursiveTask<Boolean> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final List<FileEntry> files;
+        private final Run run;
+
+        private FileBatchTask(List<FileEntry> files, Run run) {
+            this.files = files;
+            this.run = run;
+        }
+
+        @Override
+        protected Boolean compute() {
+            return deleteFiles(files, run);
+        }
+    }
+
+    private static boolean deleteFiles(List<FileEntry> files, Run run) {
+        boolean clean = true;
+
+        for (FileEntry file : files) {
+            if (run.stopped.get()) {
+                return false;
+            }
+
+            try {
+                Files.delete(file.path());
+                run.deleted(run.files, file.size());
+            } catch (IOException e) {
+                run.failures.put(file.path(), e);
+                clean = false;
+            }
+        }
+
+        return clean;
+    }
+}
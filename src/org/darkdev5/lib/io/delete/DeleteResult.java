@@ -0,0 +1,60 @@
+package org.darkdev5.lib.io.delete;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * The outcome of a BulkDeleter run with counts, throughput and every path that could not be deleted.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class DeleteResult {
+    private final long filesDeleted;
+    private final long foldersDeleted;
+    private final long bytesDeleted;
+    private final long elapsedNanos;
+    private final boolean completed;
+    private final Map<Path, IOException> failures;
+
+    DeleteResult(long filesDeleted, long foldersDeleted, long bytesDeleted, long elapsedNanos, boolean completed,
+                 Map<Path, IOException> failures) {
+        this.filesDeleted = filesDeleted;
+        this.foldersDeleted = foldersDeleted;
+        this.bytesDeleted = bytesDeleted;
+        this.elapsedNanos = elapsedNanos;
+        this.completed = completed;
+        this.failures = Map.copyOf(failures);
+    }
+
+    /**
+     * Detect if everything was deleted.
+     *
+     * @return Returns true if the run was not interrupted and no path failed.
+     */
+    public boolean isSuccessful() {
+        return completed && failures.isEmpty();
+    }
+
+    /**
+     * Gets the average number of files and folders deleted per second.
+     *
+     * @return Returns deleted paths per second.
+     */
+    public double getPathsPerSecond() {
+        return elapsedNanos == 0 ? 0 : (filesDeleted + foldersDeleted) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the average number of bytes released per second.
+     *
+     * @return Returns deleted bytes per second.
+     */
+    public double getBytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytesDeleted * 1e9 / elapsedNanos;
+    }
+}
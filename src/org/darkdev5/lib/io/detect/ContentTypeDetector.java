@@ -0,0 +1,142 @@
+package org.darkdev5.lib.io.detect;
+
+import org.apache.tika.Tika;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe content type detection that is shared between all files.
+ * It classifies a file from one header read and caches the result until the file changes.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public class ContentTypeDetector {
+    private static final int HEADER_SIZE = 64 * 1024;
+    private static final long MAP_THRESHOLD = 64L * 1024 * 1024;
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private static final ContentTypeDetector INSTANCE = new ContentTypeDetector(DEFAULT_CACHE_SIZE);
+
+    private static final ThreadLocal<byte[]> HEADER_BUFFER = ThreadLocal.withInitial(() -> new byte[HEADER_SIZE]);
+
+    private final Detector detector;
+    private final Map<Path, CacheEntry> cache;
+
+    private record CacheEntry(long size, long modified, String type) {
+    }
+
+    public ContentTypeDetector(int cacheSize) {
+        this.detector = new Tika().getDetector();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CacheEntry> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Gets the detector that is shared by all files.
+     *
+     * @return Returns the shared detector.
+     */
+    public static ContentTypeDetector getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Detect the content type of a file.
+     *
+     * @param path The file you want to detect.
+     * @return Returns the detected content type.
+     * @throws IOException Throws IOException if unable to read the file.
+     */
+    public String detect(Path path) throws IOException {
+        return detect(path, Files.readAttributes(path, BasicFileAttributes.class));
+    }
+
+    /**
+     * Detect the content type of a file using attributes that are already fetched.
+     *
+     * @param path  The file you want to detect.
+     * @param attrs The basic attributes of the file.
+     * @return Returns the detected content type.
+     * @throws IOException Throws IOException if unable to read the file.
+     */
+    public String detect(Path path, BasicFileAttributes attrs) throws IOException {
+        return detect(path, attrs.size(), attrs.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * Detect the content type of a file using its size and modified time that are already fetched.
+     *
+     * @param path     The file you want to detect.
+     * @param size     The file size.
+     * @param modified The last modified time in epoch milliseconds.
+     * @return Returns the detected content type.
+     * @throws IOException Throws IOException if unable to read the file.
+     */
+    public String detect(Path path, long size, long modified) throws IOException {
+        Path key = path.toAbsolutePath();
+
+        CacheEntry entry = cache.get(key);
+        if (entry != null && entry.size() == size && entry.modified() == modified) {
+            return entry.type();
+        }
+
+        String type = detectHeader(path, size);
+        cache.put(key, new CacheEntry(size, modified, type));
+
+        return type;
+    }
+
+    /**
+     * Remove all cached content types.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private String detectHeader(Path path, long size) throws IOException {
+        byte[] header = HEADER_BUFFER.get();
+        int length = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (size >= MAP_THRESHOLD) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                length = HEADER_SIZE;
+                region.get(header, 0, length);
+            } else {
+                ByteBuffer buffer = ByteBuffer.wrap(header);
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer);
+                    if (read < 0) {
+                        break;
+                    }
+                }
+                length = buffer.position();
+            }
+        }
+
+        Metadata metadata = new Metadata();
+        metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, path.getFileName().toString());
+
+        return detector.detect(new ByteArrayInputStream(header, 0, length), metadata).toString();
+    }
+}
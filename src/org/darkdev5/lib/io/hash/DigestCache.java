@@ -0,0 +1,231 @@
+package org.darkdev5.lib.io.hash;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers partial and full digests of files keyed by path, size and modified time,
+ * so a file is hashed again only when it changed. It can be saved to a file and loaded in a later run.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class DigestCache {
+    private static final int MAGIC = 0x44444743;
+    private static final int VERSION = 1;
+
+    private final String algorithm;
+    private final int sampleSize;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Path, Entry> entries;
+
+    private record Entry(long size, long modified, byte[] partial, byte[] full) {
+    }
+
+    public DigestCache() {
+        this("SHA-256", 64 * 1024);
+    }
+
+    /**
+     * @param algorithm  The digest algorithm like "SHA-256".
+     * @param sampleSize Number of bytes hashed from the head and from the tail for a partial digest.
+     */
+    public DigestCache(String algorithm, int sampleSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("Sample size must be at least 1.");
+        }
+
+        this.algorithm = algorithm;
+        this.sampleSize = sampleSize;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Load a cache that was saved before.
+     *
+     * @param cacheFile The cache file.
+     * @return Returns the loaded cache.
+     * @throws IOException Throws IOException if the file is not a valid cache.
+     */
+    public static DigestCache load(Path cacheFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("This is not a valid digest cache.");
+            }
+
+            DigestCache cache = new DigestCache(in.readUTF(), in.readInt());
+            int count = in.readInt();
+
+            for (int i = 0; i < count; i++) {
+                Path path = Path.of(in.readUTF());
+                long size = in.readLong(), modified = in.readLong();
+
+                cache.entries.put(path, new Entry(size, modified, readBytes(in), readBytes(in)));
+            }
+
+            return cache;
+        } catch (EOFException e) {
+            throw new IOException("This is not a valid digest cache.", e);
+        }
+    }
+
+    /**
+     * Save the cache, the file is replaced atomically.
+     *
+     * @param cacheFile The cache file.
+     * @throws IOException Throws IOException if unable to write the file.
+     */
+    public void save(Path cacheFile) throws IOException {
+        Path parent = cacheFile.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            Map<Path, Entry> snapshot = Map.copyOf(entries);
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(algorithm);
+            out.writeInt(sampleSize);
+            out.writeInt(snapshot.size());
+
+            for (Map.Entry<Path, Entry> entry : snapshot.entrySet()) {
+                out.writeUTF(entry.getKey().toString());
+                out.writeLong(entry.getValue().size());
+                out.writeLong(entry.getValue().modified());
+                writeBytes(out, entry.getValue().partial());
+                writeBytes(out, entry.getValue().full());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Get the partial digest of a file from the cache or hash it if it changed.
+     *
+     * @param path  The file you want to hash.
+     * @param attrs The basic attributes of the file.
+     * @return Returns the partial digest.
+     * @throws IOException Throws IOException if unable to read the file.
+     */
+    public byte[] partialDigest(Path path, BasicFileAttributes attrs) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        Entry entry = current(key, attrs);
+
+        if (entry != null && entry.partial() != null) {
+            return entry.partial();
+        }
+
+        byte[] partial = FileHasher.partialDigest(path, algorithm, sampleSize);
+        entries.merge(key, new Entry(attrs.size(), modifiedOf(attrs), partial, null),
+                (old, added) -> isSame(old, added) ? new Entry(old.size(), old.modified(), partial, old.full()) : added);
+
+        return partial;
+    }
+
+    /**
+     * Get the full digest of a file from the cache or hash it if it changed.
+     *
+     * @param path  The file you want to hash.
+     * @param attrs The basic attributes of the file.
+     * @return Returns the full digest.
+     * @throws IOException Throws IOException if unable to read the file.
+     */
+    public byte[] digest(Path path, BasicFileAttributes attrs) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        Entry entry = current(key, attrs);
+
+        if (entry != null && entry.full() != null) {
+            return entry.full();
+        }
+
+        byte[] full = FileHasher.digest(path, algorithm);
+        entries.merge(key, new Entry(attrs.size(), modifiedOf(attrs), null, full),
+                (old, added) -> isSame(old, added) ? new Entry(old.size(), old.modified(), old.partial(), full) : added);
+
+        return full;
+    }
+
+    /**
+     * Detect if a partial digest already covers the entire file.
+     *
+     * @param size The file size.
+     * @return Returns true if partial digest of a file with this size is decisive.
+     */
+    public boolean isPartialComplete(long size) {
+        return size <= 2L * sampleSize;
+    }
+
+    /**
+     * Gets the number of cached files.
+     *
+     * @return Returns the number of files that have a digest in the cache.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove all cached digests.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private Entry current(Path key, BasicFileAttributes attrs) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.size() != attrs.size() || entry.modified() != modifiedOf(attrs)) {
+            return null;
+        }
+
+        return entry;
+    }
+
+    private static boolean isSame(Entry old, Entry added) {
+        return old.size() == added.size() && old.modified() == added.modified();
+    }
+
+    private static long modifiedOf(BasicFileAttributes attrs) {
+        return attrs.lastModifiedTime().toMillis();
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeShort(0);
+            return;
+        }
+
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readUnsignedShort();
+        if (length == 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        return bytes;
+    }
+}
@@ -0,0 +1,185 @@
+package org.darkdev5.lib.io.hash;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.darkdev5.lib.io.FolderWalkListener;
+import org.darkdev5.lib.io.ParallelFolderWalker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Finds files with the same content under one or more folders.
+ * Files are grouped by size first, only sizes with several files are hashed. Candidates are compared by a partial
+ * digest of their head and tail and only files that still match get a full memory-mapped digest.
+ * Every stage runs on a work-stealing pool and digests are kept in a DigestCache.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class DuplicateFinder {
+    private @Setter List<String> folders;
+    private @Setter boolean showHidden;
+    private @Setter int parallelism;
+    private @Setter long minSize;
+    private @Setter DigestCache cache;
+
+    private final Map<Path, IOException> failures;
+
+    private record Candidate(Path path, BasicFileAttributes attrs) {
+    }
+
+    public DuplicateFinder(List<String> folders) {
+        this.folders = folders;
+
+        this.showHidden = true;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.minSize = 1;
+        this.cache = new DigestCache();
+
+        this.failures = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Walk the folders and find groups of duplicate files. Files that can not be read are kept in failures.
+     *
+     * @return Returns groups of equal files, the groups that waste more space come first.
+     * @throws IOException Throws IOException if a folder can not be walked or the search was interrupted.
+     */
+    public List<DuplicateGroup> find() throws IOException {
+        failures.clear();
+
+        Map<Long, List<Candidate>> bySize = new ConcurrentHashMap<>();
+        Map<Path, Boolean> seen = new ConcurrentHashMap<>();
+
+        ParallelFolderWalker walker = new ParallelFolderWalker(showHidden, parallelism);
+        for (String folder : folders) {
+            walker.walk(Path.of(folder), new FolderWalkListener() {
+                @Override
+                public boolean visit(Path path, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && attrs.size() >= minSize &&
+                            seen.putIfAbsent(path.toAbsolutePath().normalize(), true) == null) {
+                        bySize.computeIfAbsent(attrs.size(), k -> Collections.synchronizedList(new ArrayList<>()))
+                                .add(new Candidate(path, attrs));
+                    }
+                    return true;
+                }
+
+                @Override
+                public void visitFailed(Path path, IOException exc) {
+                    failures.put(path, exc);
+                }
+            });
+        }
+
+        List<List<Candidate>> groups = new ArrayList<>();
+        for (List<Candidate> group : bySize.values()) {
+            if (group.size() > 1) {
+                groups.add(group);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            groups = split(pool, groups, candidate -> true, true);
+            groups = split(pool, groups, candidate -> !cache.isPartialComplete(candidate.attrs().size()), false);
+        } finally {
+            pool.shutdown();
+        }
+
+        List<DuplicateGroup> duplicates = new ArrayList<>();
+        for (List<Candidate> group : groups) {
+            Candidate first = group.get(0);
+            byte[] digest = cache.isPartialComplete(first.attrs().size()) ?
+                    cache.partialDigest(first.path(), first.attrs()) : cache.digest(first.path(), first.attrs());
+
+            duplicates.add(new DuplicateGroup(first.attrs().size(), digest,
+                    group.stream().map(Candidate::path).sorted().toList()));
+        }
+
+        duplicates.sort(Comparator.comparingLong(DuplicateGroup::getWastedSize).reversed());
+        return duplicates;
+    }
+
+    /**
+     * Hash every candidate in parallel and split the groups by digest, groups with one file are dropped.
+     *
+     * @param pool    The pool that hashes files.
+     * @param groups  The candidate groups.
+     * @param hashed  Only groups which their first candidate matches are hashed, others are kept as they are.
+     * @param partial True for partial digests and false for full digests.
+     * @return Returns the new groups.
+     * @throws IOException Throws IOException if hashing was interrupted.
+     */
+    private List<List<Candidate>> split(ForkJoinPool pool, List<List<Candidate>> groups, Predicate<Candidate> hashed,
+                                        boolean partial) throws IOException {
+        List<List<Candidate>> result = new ArrayList<>();
+        List<Candidate> pending = new ArrayList<>();
+
+        for (List<Candidate> group : groups) {
+            if (hashed.test(group.get(0))) {
+                pending.addAll(group);
+            } else {
+                result.add(group);
+            }
+        }
+
+        Map<Candidate, ByteBuffer> digests = new ConcurrentHashMap<>();
+        try {
+            pool.submit(() -> pending.parallelStream().forEach(candidate -> {
+                try {
+                    byte[] digest = partial ? cache.partialDigest(candidate.path(), candidate.attrs()) :
+                            cache.digest(candidate.path(), candidate.attrs());
+                    digests.put(candidate, ByteBuffer.wrap(digest));
+                } catch (IOException e) {
+                    failures.put(candidate.path(), e);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Finding duplicates was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+
+        for (List<Candidate> group : groups) {
+            if (!hashed.test(group.get(0))) {
+                continue;
+            }
+
+            Map<ByteBuffer, List<Candidate>> byDigest = new HashMap<>();
+            for (Candidate candidate : group) {
+                ByteBuffer digest = digests.get(candidate);
+                if (digest != null) {
+                    byDigest.computeIfAbsent(digest, k -> new ArrayList<>()).add(candidate);
+                }
+            }
+
+            addGroups(result, byDigest.values());
+        }
+
+        return result;
+    }
+
+    private static void addGroups(List<List<Candidate>> result, Collection<List<Candidate>> groups) {
+        for (List<Candidate> group : groups) {
+            if (group.size() > 1) {
+                result.add(group);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.darkdev5.lib.io.hash;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Files that have the same size and the same content digest.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class DuplicateGroup {
+    private final long size;
+    private final byte[] digest;
+    private final List<Path> files;
+
+    DuplicateGroup(long size, byte[] digest, List<Path> files) {
+        this.size = size;
+        this.digest = digest;
+        this.files = List.copyOf(files);
+    }
+
+    /**
+     * Gets the digest as a lowercase hex text.
+     *
+     * @return Returns the hex digest.
+     */
+    public String getHexDigest() {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * Gets the space that deleting every copy except one would release.
+     *
+     * @return Returns the wasted bytes.
+     */
+    public long getWastedSize() {
+        return size * (files.size() - 1);
+    }
+}
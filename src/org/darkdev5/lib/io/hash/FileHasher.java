@@ -0,0 +1,97 @@
+package org.darkdev5.lib.io.hash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashes file content through memory-mapped chunks.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public final class FileHasher {
+    private static final long MAP_CHUNK = 64L * 1024 * 1024;
+
+    private FileHasher() {
+    }
+
+    /**
+     * Compute a message digest of the whole file.
+     *
+     * @param path      The file you want to hash.
+     * @param algorithm The digest algorithm like "SHA-256".
+     * @return Returns the digest.
+     * @throws IOException Throws IOException if unable to read the file.
+     */
+    public static byte[] digest(Path path, String algorithm) throws IOException {
+        MessageDigest digest = newDigest(algorithm);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            for (long position = 0; position < size; position += MAP_CHUNK) {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_CHUNK, size - position));
+                digest.update(chunk);
+            }
+        }
+
+        return digest.digest();
+    }
+
+    /**
+     * Compute a message digest of the file size, its first and its last bytes.
+     * Two files with different partial digests are never equal, so it filters candidates before a full digest.
+     * Files not larger than two samples are hashed completely.
+     *
+     * @param path       The file you want to hash.
+     * @param algorithm  The digest algorithm like "SHA-256".
+     * @param sampleSize Number of bytes read from the head and from the tail.
+     * @return Returns the digest.
+     * @throws IOException Throws IOException if unable to read the file.
+     */
+    public static byte[] partialDigest(Path path, String algorithm, int sampleSize) throws IOException {
+        MessageDigest digest = newDigest(algorithm);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            digest.update(ByteBuffer.allocate(Long.BYTES).putLong(0, size));
+
+            if (size <= 2L * sampleSize) {
+                digest.update(read(channel, 0, (int) size));
+            } else {
+                digest.update(read(channel, 0, sampleSize));
+                digest.update(read(channel, size - sampleSize, sampleSize));
+            }
+        }
+
+        return digest.digest();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unknown digest algorithm: " + algorithm, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.darkdev5.lib.io.option;
+
+/**
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public enum LockState {
+    Unlocked,
+    Locked,
+    Missing,
+    Inaccessible,
+    TimedOut
+}
@@ -0,0 +1,33 @@
+package org.darkdev5.lib.io.search;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * One occurrence of a content pattern inside a file.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public @Getter class ContentHit {
+    private final Path path;
+    private final String pattern;
+    private final long offset;
+    private final long line;
+    private final long column;
+
+    ContentHit(Path path, String pattern, long offset, long line, long column) {
+        this.path = path;
+        this.pattern = pattern;
+        this.offset = offset;
+        this.line = line;
+        this.column = column;
+    }
+
+    @Override
+    public String toString() {
+        return path + ":" + line + ":" + column + ": " + pattern;
+    }
+}
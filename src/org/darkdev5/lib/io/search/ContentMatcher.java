@@ -0,0 +1,186 @@
+package org.darkdev5.lib.io.search;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton that finds several byte patterns in one pass over the content.
+ * The automaton is a full transition table, so every byte costs one array lookup whatever the number of patterns.
+ * It is immutable after construction and shared by all scanning threads.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+class ContentMatcher {
+    private static final int ALPHABET = 256;
+
+    private final String[] patterns;
+    private final int[] lengths;
+    private final int[] newlines;
+    private final byte[] fold;
+
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    /**
+     * Callback for every match that the automaton finds.
+     */
+    interface MatchConsumer {
+        /**
+         * @param pattern Index of the pattern that matched.
+         * @param end     Offset of the last byte of the match.
+         * @return Returns true to continue and false to stop scanning.
+         */
+        boolean match(int pattern, long end);
+    }
+
+    /**
+     * State of a scan that can continue over several buffers.
+     */
+    static class Scan {
+        private int state;
+        private long offset;
+        private long line = 1;
+        private long lineStart;
+    }
+
+    ContentMatcher(List<String> patterns, boolean caseSensitive) {
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("At least one content pattern is needed.");
+        }
+
+        this.patterns = patterns.toArray(String[]::new);
+        this.lengths = new int[patterns.size()];
+        this.newlines = new int[patterns.size()];
+
+        this.fold = new byte[ALPHABET];
+        for (int i = 0; i < ALPHABET; i++) {
+            fold[i] = (byte) (caseSensitive || i < 'A' || i > 'Z' ? i : i + ('a' - 'A'));
+        }
+
+        List<int[]> gotos = new ArrayList<>();
+        List<List<Integer>> found = new ArrayList<>();
+        gotos.add(newRow());
+        found.add(new ArrayList<>());
+
+        for (int p = 0; p < this.patterns.length; p++) {
+            byte[] bytes = this.patterns[p].getBytes(StandardCharsets.UTF_8);
+            if (bytes.length == 0) {
+                throw new IllegalArgumentException("Content patterns can not be empty.");
+            }
+
+            lengths[p] = bytes.length;
+            int state = 0;
+            for (byte b : bytes) {
+                if (b == '\n') {
+                    newlines[p]++;
+                }
+
+                int c = fold[b & 0xFF] & 0xFF;
+                if (gotos.get(state)[c] < 0) {
+                    gotos.get(state)[c] = gotos.size();
+                    gotos.add(newRow());
+                    found.add(new ArrayList<>());
+                }
+                state = gotos.get(state)[c];
+            }
+            found.get(state).add(p);
+        }
+
+        int states = gotos.size();
+        this.transitions = new int[states * ALPHABET];
+        int[] failure = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = gotos.get(0)[c];
+            transitions[c] = Math.max(next, 0);
+            if (next > 0) {
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            found.get(state).addAll(found.get(failure[state]));
+
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = gotos.get(state)[c];
+                if (next > 0) {
+                    failure[next] = transitions[failure[state] * ALPHABET + c];
+                    transitions[state * ALPHABET + c] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * ALPHABET + c] = transitions[failure[state] * ALPHABET + c];
+                }
+            }
+        }
+
+        this.outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            outputs[state] = found.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Scan the remaining bytes of the buffer and continue the state of the scan.
+     *
+     * @param buffer   The content.
+     * @param scan     The state that is carried between buffers of the same file.
+     * @param consumer Receives every match.
+     * @return Returns true if the buffer scanned and false if consumer stopped the scan.
+     */
+    boolean scan(ByteBuffer buffer, Scan scan, MatchConsumer consumer) {
+        int state = scan.state;
+        long offset = scan.offset;
+
+        for (int i = buffer.position(), limit = buffer.limit(); i < limit; i++, offset++) {
+            int b = buffer.get(i) & 0xFF;
+            if (b == '\n') {
+                scan.line++;
+                scan.lineStart = offset + 1;
+            }
+
+            state = transitions[state * ALPHABET + (fold[b] & 0xFF)];
+            for (int pattern : outputs[state]) {
+                if (!consumer.match(pattern, offset)) {
+                    return false;
+                }
+            }
+        }
+
+        scan.state = state;
+        scan.offset = offset;
+        return true;
+    }
+
+    /**
+     * Build the hit of a match that scan() reported.
+     *
+     * @param path    The file that is scanned.
+     * @param pattern Index of the pattern.
+     * @param end     Offset of the last byte of the match.
+     * @param scan    The state of the scan at the match.
+     * @return Returns the hit, column is -1 if the pattern spans lines.
+     */
+    ContentHit hit(Path path, int pattern, long end, Scan scan) {
+        long start = end - lengths[pattern] + 1;
+        long line = scan.line - newlines[pattern];
+        long column = newlines[pattern] == 0 ? start - scan.lineStart + 1 : -1;
+
+        return new ContentHit(path, patterns[pattern], start, line, column);
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
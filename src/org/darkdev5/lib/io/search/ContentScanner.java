@@ -0,0 +1,117 @@
+package org.darkdev5.lib.io.search;
+
+import org.darkdev5.lib.io.detect.ContentTypeDetector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Scans the content of one file with a ContentMatcher.
+ * Small files are read into a reused heap buffer and larger files are scanned through memory-mapped chunks.
+ * Binary files are recognized by the shared ContentTypeDetector and skipped.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+class ContentScanner {
+    private static final int READ_THRESHOLD = 64 * 1024;
+    private static final long MAP_CHUNK = 64L * 1024 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> READ_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(READ_THRESHOLD));
+
+    private static final Set<String> TEXT_APPLICATION_TYPES = Set.of(
+            "application/json", "application/xml", "application/javascript", "application/x-sh",
+            "application/sql", "application/x-httpd-php", "application/x-yaml", "application/rtf"
+    );
+
+    private final ContentMatcher matcher;
+    private final long maxSize;
+    private final boolean skipBinary;
+
+    ContentScanner(ContentMatcher matcher, long maxSize, boolean skipBinary) {
+        this.matcher = matcher;
+        this.maxSize = maxSize;
+        this.skipBinary = skipBinary;
+    }
+
+    /**
+     * Detect if the file must be scanned.
+     *
+     * @param path  The file.
+     * @param attrs The basic attributes of the file.
+     * @return Returns true if it is a regular text file not larger than the size cap.
+     * @throws IOException Throws IOException if unable to detect the content type.
+     */
+    boolean accepts(Path path, BasicFileAttributes attrs) throws IOException {
+        if (!attrs.isRegularFile() || attrs.size() == 0 || attrs.size() > maxSize) {
+            return false;
+        }
+
+        return !skipBinary || isText(ContentTypeDetector.getInstance().detect(path, attrs));
+    }
+
+    /**
+     * Scan the file and pass every hit to the consumer.
+     *
+     * @param path     The file.
+     * @param stopped  Returns true when the scan must stop between chunks.
+     * @param consumer Receives every hit, returns false to stop.
+     * @return Returns true if entire file scanned and false if it was stopped.
+     * @throws IOException Throws IOException if unable to read the file.
+     */
+    boolean scan(Path path, BooleanSupplier stopped, HitConsumer consumer) throws IOException {
+        ContentMatcher.Scan scan = new ContentMatcher.Scan();
+        ContentMatcher.MatchConsumer onMatch = (pattern, end) -> consumer.hit(matcher.hit(path, pattern, end, scan));
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = Math.min(channel.size(), maxSize);
+
+            if (size <= READ_THRESHOLD) {
+                ByteBuffer buffer = READ_BUFFER.get().clear().limit((int) size);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        break;
+                    }
+                }
+
+                return matcher.scan(buffer.flip(), scan, onMatch);
+            }
+
+            for (long position = 0; position < size; position += MAP_CHUNK) {
+                if (stopped.getAsBoolean()) {
+                    return false;
+                }
+
+                ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_CHUNK, size - position));
+                if (!matcher.scan(chunk, scan, onMatch)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Receives hits of one file.
+     */
+    interface HitConsumer {
+        boolean hit(ContentHit hit);
+    }
+
+    private static boolean isText(String type) {
+        String base = type.split(";", 2)[0].trim();
+
+        return base.startsWith("text/") || base.endsWith("+xml") || base.endsWith("+json") ||
+                TEXT_APPLICATION_TYPES.contains(base);
+    }
+}
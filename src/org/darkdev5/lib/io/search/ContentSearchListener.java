@@ -0,0 +1,31 @@
+package org.darkdev5.lib.io.search;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Receives content search hits as soon as they are found.
+ * It is called from several threads at the same time unless parallelism is 1, so it must be thread-safe.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public interface ContentSearchListener {
+    /**
+     * Called for every hit.
+     *
+     * @param hit The pattern occurrence with its file, byte offset, line and column.
+     * @return Returns true to continue the search and false to stop it.
+     */
+    boolean found(ContentHit hit);
+
+    /**
+     * Called when a file or folder can not be read.
+     *
+     * @param path The path that failed.
+     * @param exc  The error.
+     */
+    default void visitFailed(Path path, IOException exc) {
+    }
+}
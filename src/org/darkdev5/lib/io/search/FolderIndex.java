@@ -0,0 +1,323 @@
+package org.darkdev5.lib.io.search;
+
+import lombok.Getter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * On-disk index of every file and folder name under a root folder.
+ * The index keeps names per folder with the folder modified time, so update() only lists folders that changed.
+ * Searches read the index from memory instead of walking the disk. The file is not kept open,
+ * so update() can replace it while an opened index is still in use.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+public class FolderIndex {
+    private static final int MAGIC = 0x44445849;
+    private static final int VERSION = 1;
+
+    private static final byte FLAG_DIRECTORY = 1;
+    private static final byte FLAG_HIDDEN = 2;
+
+    private final @Getter Path root;
+    private final ByteBuffer buffer;
+    private final int dataStart;
+
+    /**
+     * Folders and files that could not be read while updating, they are read again by the next update.
+     */
+    private final @Getter List<Path> failed;
+
+    private record Entry(String name, byte flags) {
+    }
+
+    private record FolderRecord(long modified, List<Entry> entries) {
+    }
+
+    private FolderIndex(Path root, ByteBuffer buffer, int dataStart, List<Path> failed) {
+        this.root = root;
+        this.buffer = buffer;
+        this.dataStart = dataStart;
+        this.failed = failed;
+    }
+
+    /**
+     * Open an index file that is already built.
+     *
+     * @param indexFile The index file.
+     * @return Returns the opened index.
+     * @throws IOException Throws IOException if the file is not a valid index.
+     */
+    public static FolderIndex open(Path indexFile) throws IOException {
+        return read(ByteBuffer.wrap(Files.readAllBytes(indexFile)));
+    }
+
+    /**
+     * Build or update the index of a folder. Folders that their modified time did not change since the last
+     * update are taken from the old index without listing them again. An index file that is not valid is
+     * built again from scratch.
+     *
+     * @param root      The folder you want to index.
+     * @param indexFile The index file, it is created if it does not exist.
+     * @return Returns the updated index, paths that could not be read are in getFailed().
+     * @throws IOException Throws IOException if unable to walk the folder or write the index.
+     */
+    public static FolderIndex update(Path root, Path indexFile) throws IOException {
+        root = root.toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            throw new IOException("There is no directory in this path.");
+        }
+
+        Map<String, FolderRecord> previous = Map.of();
+        if (Files.exists(indexFile)) {
+            try {
+                FolderIndex old = read(ByteBuffer.wrap(Files.readAllBytes(indexFile)));
+                if (old.root.equals(root)) {
+                    previous = old.readRecords();
+                }
+            } catch (IOException e) {
+                // Not a valid index, it is built again from scratch.
+            }
+        }
+
+        List<Path> failed = new ArrayList<>();
+
+        Path parent = indexFile.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(parent, indexFile.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, root.toString());
+
+            Deque<Path> folders = new ArrayDeque<>();
+            folders.push(root);
+
+            while (!folders.isEmpty()) {
+                Path dir = folders.pop();
+                String relative = root.relativize(dir).toString();
+
+                long modified;
+                try {
+                    modified = Files.getLastModifiedTime(dir, LinkOption.NOFOLLOW_LINKS).toMillis();
+                } catch (IOException e) {
+                    failed.add(dir);
+                    continue;
+                }
+
+                FolderRecord record = previous.get(relative);
+                if (record == null || record.modified() != modified) {
+                    int failedBefore = failed.size();
+                    List<Entry> entries = list(dir, failed);
+
+                    if (entries == null) {
+                        continue;
+                    }
+                    // A folder that was read partly is stored without its modified time to list it again next time.
+                    record = new FolderRecord(failed.size() == failedBefore ? modified : -1, entries);
+                }
+
+                out.writeByte(1);
+                writeString(out, relative);
+                out.writeLong(record.modified());
+                out.writeInt(record.entries().size());
+
+                for (Entry entry : record.entries()) {
+                    out.writeByte(entry.flags());
+                    writeString(out, entry.name());
+
+                    if ((entry.flags() & FLAG_DIRECTORY) != 0) {
+                        folders.push(dir.resolve(entry.name()));
+                    }
+                }
+            }
+
+            out.writeByte(0);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        FolderIndex index = open(indexFile);
+        return new FolderIndex(index.root, index.buffer, index.dataStart, List.copyOf(failed));
+    }
+
+    /**
+     * Pass every indexed path that its name matches to the consumer.
+     *
+     * @param showHidden True if you want to also search in hidden files or not.
+     * @param matcher    The compiled name predicate.
+     * @param onMatch    Receives the matched path and true if it is a folder, returns false to stop.
+     * @return Returns true if entire index searched and false if consumer stopped the search.
+     */
+    boolean search(boolean showHidden, Predicate<String> matcher, BiPredicate<Path, Boolean> onMatch) {
+        ByteBuffer data = buffer.duplicate().position(dataStart);
+        Set<String> skipped = new HashSet<>();
+
+        while (data.get() != 0) {
+            String relative = readString(data);
+            data.getLong();
+            int count = data.getInt();
+
+            Path dir = relative.isEmpty() ? root : root.resolve(relative);
+            boolean skipContent = !showHidden && skipped.contains(relative);
+
+            for (int i = 0; i < count; i++) {
+                byte flags = data.get();
+                String name = readString(data);
+
+                boolean directory = (flags & FLAG_DIRECTORY) != 0;
+                if (skipContent || (!showHidden && (flags & FLAG_HIDDEN) != 0)) {
+                    if (directory) {
+                        skipped.add(root.relativize(dir.resolve(name)).toString());
+                    }
+                    continue;
+                }
+
+                if (matcher.test(name) && !onMatch.test(dir.resolve(name), directory)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Read the header and check every record once, so searches never run past the end of a broken file.
+     */
+    private static FolderIndex read(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("This is not a valid folder index.");
+            }
+
+            Path root = Path.of(readString(buffer));
+            int dataStart = buffer.position();
+
+            ByteBuffer data = buffer.duplicate();
+            while (data.get() != 0) {
+                root.resolve(readString(data));
+                data.getLong();
+                int count = data.getInt();
+
+                if (count < 0 || count > data.remaining() / 5) {
+                    throw new IOException("This is not a valid folder index.");
+                }
+
+                for (int i = 0; i < count; i++) {
+                    data.get();
+                    root.resolve(readString(data));
+                }
+            }
+
+            return new FolderIndex(root, buffer, dataStart, List.of());
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("This is not a valid folder index.", e);
+        }
+    }
+
+    private Map<String, FolderRecord> readRecords() {
+        ByteBuffer data = buffer.duplicate().position(dataStart);
+        Map<String, FolderRecord> records = new HashMap<>();
+
+        while (data.get() != 0) {
+            String relative = readString(data);
+            long modified = data.getLong();
+            int count = data.getInt();
+
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte flags = data.get();
+                entries.add(new Entry(readString(data), flags));
+            }
+
+            records.put(relative, new FolderRecord(modified, entries));
+        }
+
+        return records;
+    }
+
+    /**
+     * List the names of one folder, paths that can not be read are added to failed.
+     *
+     * @return Returns the entries or null if the folder itself can not be listed.
+     */
+    private static List<Entry> list(Path dir, List<Path> failed) {
+        List<Entry> entries = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path entry : stream) {
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class,
+                            LinkOption.NOFOLLOW_LINKS);
+
+                    byte flags = 0;
+                    if (attrs.isDirectory()) {
+                        flags |= FLAG_DIRECTORY;
+                    }
+                    if (Files.isHidden(entry)) {
+                        flags |= FLAG_HIDDEN;
+                    }
+
+                    entries.add(new Entry(entry.getFileName().toString(), flags));
+                } catch (IOException e) {
+                    failed.add(entry);
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            failed.add(dir);
+            return null;
+        }
+
+        return entries;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer data) {
+        byte[] bytes = new byte[readLength(data)];
+        data.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(ByteBuffer data) {
+        int length = data.getInt();
+        if (length < 0 || length > data.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        return length;
+    }
+}
@@ -1,10 +1,27 @@
 package org.darkdev5.lib.io.search;
 
-import org.darkdev5.lib.io.FolderVisitor;
+import org.darkdev5.lib.io.FolderWalkListener;
+import org.darkdev5.lib.io.FolderWatcher;
+import org.darkdev5.lib.io.ParallelFolderWalker;
+import org.darkdev5.lib.io.option.FolderListType;
+import org.darkdev5.lib.io.option.SearchMatchType;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
  * @author darkDev5
@@ -13,52 +30,400 @@ import java.nio.file.Path;
  */
 public class FolderSearchEngine {
     private final String path;
-    private String key;
+    private final String key;
 
     private final boolean exactMatch;
     private final boolean caseSensitive;
 
+    private final SearchMatchType matchType;
+    private final int parallelism;
+
+    private final long limit;
+    private final long minSize;
+    private final long maxSize;
+    private final long modifiedAfter;
+    private final long modifiedBefore;
+    private final FolderListType listType;
+
+    private final String indexFile;
+    private final FolderWatcher watcher;
+
+    private final List<String> contentPatterns;
+    private final long maxContentSize;
+    private final boolean skipBinary;
+
+    private final Predicate<String> matcher;
+
+    private FolderIndex index;
+    private FileTime indexModified;
+    private Object indexKey;
+
     private FolderSearchEngine(FolderSearchEngineBuilder builder) {
         this.path = builder.path;
         this.key = builder.key;
 
         this.exactMatch = builder.exactMatch;
         this.caseSensitive = builder.caseSensitive;
+
+        if (builder.matchType != null) {
+            this.matchType = builder.matchType;
+        } else {
+            this.matchType = exactMatch ? SearchMatchType.Exact : SearchMatchType.Contains;
+        }
+        this.parallelism = builder.parallelism;
+
+        this.limit = builder.limit;
+        this.minSize = builder.minSize;
+        this.maxSize = builder.maxSize;
+        this.modifiedAfter = builder.modifiedAfter;
+        this.modifiedBefore = builder.modifiedBefore;
+        this.listType = builder.listType;
+
+        this.indexFile = builder.indexFile;
+        this.watcher = builder.watcher;
+
+        this.contentPatterns = builder.contentPatterns;
+        this.maxContentSize = builder.maxContentSize;
+        this.skipBinary = builder.skipBinary;
+
+        this.matcher = NameMatchers.compile(key, matchType, caseSensitive);
     }
 
     /**
      * Search entire folder to find some file or folder that match with the specific key.
+     * Names are checked while walking and the search stops at the first match.
      *
      * @param showHidden True if you want to also search in hidden files or not.
-     * @return True if search found something and false if search failed.
+     * @return True if search found something and false if search failed or the path is not a folder.
      * @throws IOException Throws IOException when walking inside sub folders.
      */
     public boolean search(boolean showHidden) throws IOException {
-        FolderVisitor visitor = new FolderVisitor(showHidden);
-        Files.walkFileTree(Path.of(path), visitor);
+        if (isWatched()) {
+            return !watcher.walk(showHidden, (pth, attrs) -> !matches(pth, attrs));
+        }
+
+        FolderIndex index = openIndex();
+        if (index != null) {
+            return !searchIndex(index, showHidden, hasAttributeFilters(), (pth, attrs) -> false);
+        }
+
+        if (!Files.isDirectory(Path.of(path))) {
+            return false;
+        }
+
+        return !new ParallelFolderWalker(showHidden, parallelism).walk(Path.of(path),
+                (pth, attrs) -> !matches(pth, attrs));
+    }
+
+    /**
+     * Search entire folder and pass every match with its attributes to the listener while walking.
+     * The listener is called from several threads unless parallelism is 1.
+     *
+     * @param showHidden True if you want to also search in hidden files or not.
+     * @param listener   The listener that receives matches and failed paths, it can stop the search early.
+     * @return Returns the number of matches passed to the listener.
+     * @throws IOException Throws IOException when walking inside sub folders.
+     */
+    public long search(boolean showHidden, FolderWalkListener listener) throws IOException {
+        AtomicLong found = new AtomicLong();
+
+        FolderWalkListener limited = new FolderWalkListener() {
+            @Override
+            public boolean visit(Path pth, BasicFileAttributes attrs) {
+                long count = found.incrementAndGet();
+                if (count > limit) {
+                    found.decrementAndGet();
+                    return false;
+                }
+
+                return listener.visit(pth, attrs) && count < limit;
+            }
+
+            @Override
+            public void visitFailed(Path pth, IOException exc) {
+                listener.visitFailed(pth, exc);
+            }
+        };
+
+        walk(showHidden, limited);
+        return found.get();
+    }
+
+    /**
+     * Search the content of files that their names and attributes match and pass every hit to the listener.
+     * Files are scanned in parallel with all content patterns in one pass, binary files and files larger than
+     * the content size cap are skipped. The limit counts files that have at least one hit.
+     *
+     * @param showHidden True if you want to also search in hidden files or not.
+     * @param listener   The listener that receives hits and failed paths, it can stop the search early.
+     * @return Returns the number of files that had a hit.
+     * @throws IOException Throws IOException when walking inside sub folders or if the search was interrupted.
+     */
+    public long searchContent(boolean showHidden, ContentSearchListener listener) throws IOException {
+        if (contentPatterns == null || contentPatterns.isEmpty()) {
+            throw new IllegalStateException("There is no content pattern to search.");
+        }
+
+        ContentScanner scanner = new ContentScanner(new ContentMatcher(contentPatterns, caseSensitive),
+                maxContentSize, skipBinary);
+
+        AtomicLong found = new AtomicLong();
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        Semaphore inFlight = new Semaphore(parallelism * 4);
+        Phaser pending = new Phaser(1);
+
+        try {
+            walk(showHidden, new FolderWalkListener() {
+                @Override
+                public boolean visit(Path pth, BasicFileAttributes attrs) {
+                    if (stopped.get() || Thread.currentThread().isInterrupted()) {
+                        return false;
+                    }
+
+                    try {
+                        if (!scanner.accepts(pth, attrs)) {
+                            return true;
+                        }
+
+                        acquire(inFlight);
+                    } catch (IOException e) {
+                        listener.visitFailed(pth, e);
+                        return true;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        stopped.set(true);
+                        return false;
+                    }
+
+                    pending.register();
+                    executor.execute(() -> {
+                        try {
+                            scan(scanner, pth, found, stopped, listener);
+                        } finally {
+                            inFlight.release();
+                            pending.arriveAndDeregister();
+                        }
+                    });
+
+                    return !stopped.get();
+                }
 
-        visitor.getVisited().remove(visitor.getVisited().size() - 1);
+                @Override
+                public void visitFailed(Path pth, IOException exc) {
+                    if (!stopped.get()) {
+                        listener.visitFailed(pth, exc);
+                    }
+                }
+            });
+
+            pending.awaitAdvanceInterruptibly(pending.arrive());
+        } catch (InterruptedException e) {
+            stopped.set(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Content search was interrupted.", e);
+        } finally {
+            stopped.set(true);
+            executor.shutdownNow();
+        }
 
-        for (Path pth : visitor.getVisited()) {
-            String name = pth.getFileName().toString();
+        return found.get();
+    }
+
+    /**
+     * Take a permit without starving the walker pool, a blocked walker thread is replaced while it waits.
+     */
+    private static void acquire(Semaphore semaphore) throws InterruptedException {
+        ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+            @Override
+            public boolean block() throws InterruptedException {
+                semaphore.acquire();
+                return true;
+            }
 
-            if (!caseSensitive) {
-                name = name.toLowerCase();
-                key = key.toLowerCase();
+            @Override
+            public boolean isReleasable() {
+                return semaphore.tryAcquire();
             }
+        });
+    }
+
+    /**
+     * Scan one file, nothing is scanned or reported once the search is stopped.
+     */
+    private void scan(ContentScanner scanner, Path pth, AtomicLong found, AtomicBoolean stopped,
+                      ContentSearchListener listener) {
+        if (stopped.get()) {
+            return;
+        }
+
+        boolean[] counted = {false};
+
+        try {
+            scanner.scan(pth, stopped::get, hit -> {
+                if (stopped.get()) {
+                    return false;
+                }
+
+                if (!counted[0]) {
+                    counted[0] = true;
+                    if (found.incrementAndGet() > limit) {
+                        found.decrementAndGet();
+                        stopped.set(true);
+                        return false;
+                    }
+                }
 
-            if (exactMatch) {
-                if (name.equals(key)) {
-                    return true;
+                if (!listener.found(hit)) {
+                    stopped.set(true);
+                    return false;
                 }
-            } else {
-                if (name.contains(key)) {
-                    return true;
+                return true;
+            });
+        } catch (IOException e) {
+            if (!stopped.get()) {
+                listener.visitFailed(pth, e);
+            }
+        }
+    }
+
+    /**
+     * Pass every path that matches names and attributes to the listener,
+     * from the watcher snapshot, the index or a parallel walk of the disk.
+     *
+     * @param showHidden True if you want to also search in hidden files or not.
+     * @param listener   The listener that receives matches.
+     * @throws IOException Throws IOException when walking inside sub folders.
+     */
+    private void walk(boolean showHidden, FolderWalkListener listener) throws IOException {
+        FolderWalkListener matched = new FolderWalkListener() {
+            @Override
+            public boolean visit(Path pth, BasicFileAttributes attrs) {
+                return !matches(pth, attrs) || listener.visit(pth, attrs);
+            }
+
+            @Override
+            public void visitFailed(Path pth, IOException exc) {
+                listener.visitFailed(pth, exc);
+            }
+        };
+
+        FolderIndex index;
+        if (isWatched()) {
+            watcher.walk(showHidden, matched);
+        } else if ((index = openIndex()) != null) {
+            searchIndex(index, showHidden, true, listener);
+        } else {
+            new ParallelFolderWalker(showHidden, parallelism).walk(Path.of(path), matched);
+        }
+    }
+
+    private boolean isWatched() {
+        return watcher != null && watcher.isActive() &&
+                watcher.getRoot().equals(Path.of(path).toAbsolutePath().normalize());
+    }
+
+    /**
+     * Open the index file if it is set, exists, is valid and belongs to the search path.
+     * The opened index is kept until the index file is replaced or modified.
+     *
+     * @return Returns the index or null if search must walk the disk.
+     */
+    private synchronized FolderIndex openIndex() {
+        if (indexFile == null) {
+            return null;
+        }
+
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(Path.of(indexFile), BasicFileAttributes.class);
+        } catch (IOException e) {
+            index = null;
+            indexModified = null;
+            return null;
+        }
+
+        if (!attrs.lastModifiedTime().equals(indexModified) || !Objects.equals(attrs.fileKey(), indexKey)) {
+            index = null;
+            indexModified = attrs.lastModifiedTime();
+            indexKey = attrs.fileKey();
+
+            try {
+                FolderIndex opened = FolderIndex.open(Path.of(indexFile));
+                if (opened.getRoot().equals(Path.of(path).toAbsolutePath().normalize())) {
+                    index = opened;
                 }
+            } catch (IOException e) {
+                // Not a valid index, search walks the disk until the index is updated.
             }
         }
 
-        return false;
+        return index;
+    }
+
+    /**
+     * Search names in the index and fetch attributes only for the names that matched.
+     *
+     * @param index          The opened index.
+     * @param showHidden     True if you want to also search in hidden files or not.
+     * @param needAttributes True if matches must be checked against their attributes, else attrs is null.
+     * @param listener       The listener that receives matches.
+     * @return Returns true if entire index searched and false if listener stopped the search.
+     */
+    private boolean searchIndex(FolderIndex index, boolean showHidden, boolean needAttributes,
+                                FolderWalkListener listener) {
+        return index.search(showHidden, matcher, (pth, directory) -> {
+            if ((listType == FolderListType.File && directory) || (listType == FolderListType.Folder && !directory)) {
+                return true;
+            }
+
+            if (!needAttributes) {
+                return listener.visit(pth, null);
+            }
+
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(pth, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException e) {
+                listener.visitFailed(pth, e);
+                return true;
+            }
+
+            return !matches(pth, attrs) || listener.visit(pth, attrs);
+        });
+    }
+
+    private boolean hasAttributeFilters() {
+        return minSize > 0 || maxSize < Long.MAX_VALUE ||
+                modifiedAfter > Long.MIN_VALUE || modifiedBefore < Long.MAX_VALUE;
+    }
+
+    private boolean matches(Path pth, BasicFileAttributes attrs) {
+        switch (listType) {
+            case File -> {
+                if (attrs.isDirectory()) {
+                    return false;
+                }
+            }
+
+            case Folder -> {
+                if (!attrs.isDirectory()) {
+                    return false;
+                }
+            }
+        }
+
+        if (attrs.size() < minSize || attrs.size() > maxSize) {
+            return false;
+        }
+
+        long modified = attrs.lastModifiedTime().toMillis();
+        if (modified < modifiedAfter || modified > modifiedBefore) {
+            return false;
+        }
+
+        return matcher.test(pth.getFileName().toString());
     }
 
     public static class FolderSearchEngineBuilder {
@@ -68,12 +433,41 @@ public class FolderSearchEngine {
         private boolean exactMatch;
         private boolean caseSensitive;
 
+        private SearchMatchType matchType;
+        private int parallelism;
+
+        private long limit;
+        private long minSize;
+        private long maxSize;
+        private long modifiedAfter;
+        private long modifiedBefore;
+        private FolderListType listType;
+
+        private String indexFile;
+        private FolderWatcher watcher;
+
+        private List<String> contentPatterns;
+        private long maxContentSize;
+        private boolean skipBinary;
+
         public FolderSearchEngineBuilder(String path, String key) {
             this.path = path;
             this.key = key;
 
             this.exactMatch = false;
             this.caseSensitive = true;
+
+            this.parallelism = Runtime.getRuntime().availableProcessors();
+
+            this.limit = Long.MAX_VALUE;
+            this.minSize = 0;
+            this.maxSize = Long.MAX_VALUE;
+            this.modifiedAfter = Long.MIN_VALUE;
+            this.modifiedBefore = Long.MAX_VALUE;
+            this.listType = FolderListType.Any;
+
+            this.maxContentSize = 256L * 1024 * 1024;
+            this.skipBinary = true;
         }
 
         public FolderSearchEngineBuilder setPath(String path) {
@@ -96,6 +490,134 @@ public class FolderSearchEngine {
             return this;
         }
 
+        /**
+         * Set the way key is compared with names, it overrides setExactMatch().
+         *
+         * @param matchType Exact, Contains, Glob or Regex matching.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setMatchType(SearchMatchType matchType) {
+            this.matchType = matchType;
+            return this;
+        }
+
+        /**
+         * Set number of threads that search sub folders.
+         *
+         * @param parallelism Number of threads, 1 searches on a single thread.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Set maximum number of matches that search(boolean, FolderWalkListener) passes to the listener.
+         *
+         * @param limit Maximum number of matches.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setLimit(long limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Only match paths that their size is in the range.
+         *
+         * @param minSize Minimum size in bytes, inclusive.
+         * @param maxSize Maximum size in bytes, inclusive.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setSizeRange(long minSize, long maxSize) {
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Only match paths that their last modified time is in the range.
+         *
+         * @param modifiedAfter  Start of the range in epoch milliseconds, inclusive.
+         * @param modifiedBefore End of the range in epoch milliseconds, inclusive.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setModifiedRange(long modifiedAfter, long modifiedBefore) {
+            this.modifiedAfter = modifiedAfter;
+            this.modifiedBefore = modifiedBefore;
+            return this;
+        }
+
+        /**
+         * Only match files, folders or both of them.
+         *
+         * @param listType The type of paths you want to match.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setListType(FolderListType listType) {
+            this.listType = listType;
+            return this;
+        }
+
+        /**
+         * Answer searches from a FolderIndex file instead of walking the disk when the file exists.
+         * The index is used as it is, call FolderIndex.update() to bring it up to date.
+         *
+         * @param indexFile The index file that was built for the search path.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setIndexFile(String indexFile) {
+            this.indexFile = indexFile;
+            return this;
+        }
+
+        /**
+         * Answer searches from the snapshot of a watcher that watches the search path.
+         * It is preferred over the index file while the watcher is active.
+         *
+         * @param watcher The watcher of the search path.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setWatcher(FolderWatcher watcher) {
+            this.watcher = watcher;
+            return this;
+        }
+
+        /**
+         * Set the strings that searchContent() looks for inside files, they are compared as UTF-8 bytes.
+         * Case sensitivity follows setCaseSensitive() for ASCII letters.
+         *
+         * @param contentPatterns The strings you want to find.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setContentPatterns(String... contentPatterns) {
+            this.contentPatterns = List.of(contentPatterns);
+            return this;
+        }
+
+        /**
+         * Set the size cap of files that searchContent() scans, larger files are skipped.
+         *
+         * @param maxContentSize Maximum file size in bytes, inclusive.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setMaxContentSize(long maxContentSize) {
+            this.maxContentSize = maxContentSize;
+            return this;
+        }
+
+        /**
+         * Set if searchContent() skips files that their detected content type is not text.
+         *
+         * @param skipBinary True to skip binary files and false to scan every file.
+         * @return Returns this builder.
+         */
+        public FolderSearchEngineBuilder setSkipBinary(boolean skipBinary) {
+            this.skipBinary = skipBinary;
+            return this;
+        }
+
         /**
          * Build a search engine object.
          *
@@ -0,0 +1,63 @@
+package org.darkdev5.lib.io.search;
+
+import org.darkdev5.lib.io.option.SearchMatchType;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles a search key once into a predicate that is tested against file names.
+ *
+ * @author darkDev5
+ * @version 1.0
+ * @since 17
+ */
+final class NameMatchers {
+    private NameMatchers() {
+    }
+
+    /**
+     * Compile the key into a name predicate.
+     * Glob and regex keys must match the whole name, globs follow the same syntax as {@code Folder.list} globs.
+     *
+     * @param key           The key you want to search.
+     * @param type          The way key is compared with names.
+     * @param caseSensitive True if letter case must be equal and false if not.
+     * @return Returns the compiled predicate.
+     */
+    static Predicate<String> compile(String key, SearchMatchType type, boolean caseSensitive) {
+        return switch (type) {
+            case Exact -> caseSensitive ? key::equals : key::equalsIgnoreCase;
+            case Contains -> {
+                if (caseSensitive) {
+                    yield name -> name.contains(key);
+                }
+
+                String lowerKey = key.toLowerCase();
+                yield name -> name.toLowerCase().contains(lowerKey);
+            }
+            case Glob -> compileGlob(key, caseSensitive);
+            case Regex -> compilePattern(key, caseSensitive);
+        };
+    }
+
+    private static Predicate<String> compileGlob(String glob, boolean caseSensitive) {
+        if (caseSensitive) {
+            PathMatcher pattern = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+            return name -> pattern.matches(Path.of(name));
+        }
+
+        PathMatcher pattern = FileSystems.getDefault().getPathMatcher("glob:" + glob.toLowerCase());
+        return name -> pattern.matches(Path.of(name.toLowerCase()));
+    }
+
+    private static Predicate<String> compilePattern(String regex, boolean caseSensitive) {
+        Pattern pattern = caseSensitive ? Pattern.compile(regex) :
+                Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+        return name -> pattern.matcher(name).matches();
+    }
+}